@@ -0,0 +1,118 @@
+package com.dev.currencyexchange.benchmark;
+
+import com.dev.currencyexchange.dto.CurrencyDto;
+import com.dev.currencyexchange.entity.Currency;
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import com.dev.currencyexchange.model.CurrencyCatalog;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.service.CurrencyCatalogService;
+import com.dev.currencyexchange.service.CurrencyRatesService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+final class BenchmarkFixtures {
+    static final String BASE_CURRENCY = "EUR";
+    static final int CURRENCY_COUNT = 170;
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<String> currencyCodes() {
+        List<String> codes = new ArrayList<>(CURRENCY_COUNT);
+        for (int i = 0; codes.size() < CURRENCY_COUNT; i++) {
+            String code = "" + (char) ('A' + i / 676 % 26) + (char) ('A' + i / 26 % 26) + (char) ('A' + i % 26);
+            if (!code.equals(BASE_CURRENCY)) {
+                codes.add(code);
+            }
+        }
+        return codes;
+    }
+
+    static Map<String, Double> rates(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Map<String, Double> rates = new HashMap<>();
+        for (String code : currencyCodes()) {
+            rates.put(code, 0.01 + random.nextDouble() * 200);
+        }
+        return rates;
+    }
+
+    static RatesSnapshot snapshot(long version) {
+        return new RatesSnapshot(version, BASE_CURRENCY, Instant.now(), rates(version));
+    }
+
+    static List<Currency> currencyEntities() {
+        List<Currency> currencies = new ArrayList<>(CURRENCY_COUNT);
+        long id = 1;
+        for (String code : currencyCodes()) {
+            currencies.add(Currency.builder().id(id++).code(code).name("Currency " + code).build());
+        }
+        return currencies;
+    }
+
+    static CurrencyCatalog catalog() {
+        return new CurrencyCatalog(1L, currencyEntities().stream()
+                .map(currency -> new CurrencyDto(currency.getCode(), currency.getName()))
+                .toList());
+    }
+
+    static ExchangeRateMetrics metrics() {
+        return new ExchangeRateMetrics(new SimpleMeterRegistry(), Duration.ofHours(2));
+    }
+
+    static CurrencyRatesService ratesService(RatesSnapshot snapshot) {
+        return new CurrencyRatesService() {
+            @Override
+            public Double getExchangeRatesForCurrency(String currencyCode) {
+                return snapshot.getRate(currencyCode);
+            }
+
+            @Override
+            public RatesSnapshot getSnapshot() {
+                return snapshot;
+            }
+
+            @Override
+            public RatesSnapshot restoreSnapshot(Map<String, Double> rates, Map<String, String> sources,
+                                                 Instant fetchedAt) {
+                return null;
+            }
+
+            @Override
+            public void fetchExchangeRates() {
+            }
+
+            @Override
+            public RatesSnapshot applyReplicatedSnapshot(long version, Map<String, Double> rates,
+                                                         Map<String, String> sources, Instant fetchedAt) {
+                return null;
+            }
+        };
+    }
+
+    static CurrencyCatalogService catalogService(CurrencyCatalog catalog) {
+        return new CurrencyCatalogService() {
+            @Override
+            public CurrencyCatalog getCatalog() {
+                return catalog;
+            }
+
+            @Override
+            public CurrencyCatalog reload() {
+                return catalog;
+            }
+
+            @Override
+            public CurrencyCatalog reloadIfChanged() {
+                return catalog;
+            }
+        };
+    }
+}
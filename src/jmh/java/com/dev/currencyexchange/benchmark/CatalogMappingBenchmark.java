@@ -0,0 +1,40 @@
+package com.dev.currencyexchange.benchmark;
+
+import com.dev.currencyexchange.dto.CurrencyDto;
+import com.dev.currencyexchange.entity.Currency;
+import com.dev.currencyexchange.service.impl.CurrencyServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CatalogMappingBenchmark {
+
+    private List<Currency> entities;
+    private CurrencyServiceImpl currencyService;
+
+    @Setup
+    public void setUp() {
+        entities = BenchmarkFixtures.currencyEntities();
+        currencyService = new CurrencyServiceImpl(null, BenchmarkFixtures.ratesService(BenchmarkFixtures.snapshot(1L)),
+                BenchmarkFixtures.catalogService(BenchmarkFixtures.catalog()), event -> {
+        }, BenchmarkFixtures.metrics(), new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Benchmark
+    public List<CurrencyDto> mapEntitiesPerRequest() {
+        return entities.stream()
+                .map(currency -> new CurrencyDto(currency.getCode(), currency.getName()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<CurrencyDto> cachedCatalog() {
+        return currencyService.getAllCurrencies();
+    }
+}
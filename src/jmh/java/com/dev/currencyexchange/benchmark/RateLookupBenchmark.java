@@ -0,0 +1,110 @@
+package com.dev.currencyexchange.benchmark;
+
+import com.dev.currencyexchange.dto.ConversionDto;
+import com.dev.currencyexchange.dto.ExchangeRatesDto;
+import com.dev.currencyexchange.model.CrossRateMatrix;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.service.impl.CurrencyServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLookupBenchmark {
+
+    private static final int BULK_SIZE = 40;
+
+    private RatesSnapshot snapshot;
+    private CurrencyServiceImpl currencyService;
+    private List<String> codes;
+    private List<String> bulkCodes;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        snapshot = BenchmarkFixtures.snapshot(1L);
+        currencyService = new CurrencyServiceImpl(null, BenchmarkFixtures.ratesService(snapshot),
+                BenchmarkFixtures.catalogService(BenchmarkFixtures.catalog()), event -> {
+        }, BenchmarkFixtures.metrics(), new ObjectMapper().findAndRegisterModules());
+        codes = BenchmarkFixtures.currencyCodes();
+        bulkCodes = codes.subList(0, BULK_SIZE);
+    }
+
+    private String nextCode() {
+        cursor = (cursor + 1) % codes.size();
+        return codes.get(cursor);
+    }
+
+    @Benchmark
+    public Double singleRateFromSnapshot() {
+        return snapshot.getRate(nextCode());
+    }
+
+    @Benchmark
+    public Double singleRateThroughService() {
+        return currencyService.getExchangeRatesForCurrency(snapshot, nextCode());
+    }
+
+    @Benchmark
+    public void bulkLookupBySingleCalls(Blackhole blackhole) {
+        for (String code : bulkCodes) {
+            blackhole.consume(currencyService.getExchangeRatesForCurrency(code));
+        }
+    }
+
+    @Benchmark
+    public ExchangeRatesDto bulkLookup() {
+        return currencyService.getExchangeRates(bulkCodes);
+    }
+
+    @Benchmark
+    public ExchangeRatesDto allRatesLookup() {
+        return currencyService.getExchangeRates(null);
+    }
+
+    /**
+     * Hands every invocation a copy of the snapshot with an empty per-base body memo, so this measures building the
+     * body rather than finding it in the memo.
+     */
+    @State(Scope.Thread)
+    public static class ColdSnapshot {
+        RatesSnapshot snapshot;
+
+        @Setup(Level.Invocation)
+        public void setUp(RateLookupBenchmark benchmark) {
+            RatesSnapshot published = benchmark.snapshot;
+            snapshot = published.withResponseBodies(published.getRateBodies(), published.getAllRatesBody());
+        }
+    }
+
+    @Benchmark
+    public byte[] allRatesBodyAgainstOtherBase(ColdSnapshot cold) {
+        return currencyService.getAllExchangeRatesBody(cold.snapshot, nextCode());
+    }
+
+    @Benchmark
+    public byte[] allRatesBodyAgainstOtherBaseMemoized() {
+        return currencyService.getAllExchangeRatesBody(snapshot, nextCode());
+    }
+
+    @Benchmark
+    public double crossRateFromMatrix() {
+        CrossRateMatrix crossRates = snapshot.getCrossRates();
+        return crossRates.rate(crossRates.indexOf(nextCode()), crossRates.indexOf(nextCode()));
+    }
+
+    @Benchmark
+    public double crossRateByDivision() {
+        return snapshot.getRate(nextCode()) / snapshot.getRate(nextCode());
+    }
+
+    @Benchmark
+    public ConversionDto conversionThroughService() {
+        return currencyService.convert(nextCode(), nextCode(), 100.0);
+    }
+}
@@ -0,0 +1,51 @@
+package com.dev.currencyexchange.benchmark;
+
+import com.dev.currencyexchange.dto.ExchangeRateResponse;
+import com.dev.currencyexchange.dto.ExchangeRatesDto;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ExchangeRateResponse exchangeRateResponse;
+    private byte[] exchangeRateResponseJson;
+    private RatesSnapshot snapshot;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        Map<String, Double> rates = BenchmarkFixtures.rates(1L);
+        exchangeRateResponse = new ExchangeRateResponse(BenchmarkFixtures.BASE_CURRENCY, "2025-03-01", rates);
+        exchangeRateResponseJson = objectMapper.writeValueAsBytes(exchangeRateResponse);
+        snapshot = BenchmarkFixtures.snapshot(1L);
+    }
+
+    @Benchmark
+    public byte[] serializeExchangeRateResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(exchangeRateResponse);
+    }
+
+    @Benchmark
+    public ExchangeRateResponse deserializeExchangeRateResponse() throws Exception {
+        return objectMapper.readValue(exchangeRateResponseJson, ExchangeRateResponse.class);
+    }
+
+    @Benchmark
+    public byte[] serializeSingleRate() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(snapshot.getRate("AAB"));
+    }
+
+    @Benchmark
+    public byte[] serializeAllRatesDocument() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ExchangeRatesDto.allRates(snapshot));
+    }
+}
@@ -0,0 +1,53 @@
+package com.dev.currencyexchange.benchmark;
+
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.service.impl.CurrencyRatesServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Readers look up rates while one writer keeps publishing snapshots, which is the refresh path under load.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SnapshotPublicationBenchmark {
+
+    private CurrencyRatesServiceImpl currencyRatesService;
+    private List<String> codes;
+    private Map<String, Double> rates;
+
+    @Setup
+    public void setUp() {
+        currencyRatesService = new CurrencyRatesServiceImpl(null, null, event -> {
+        }, new ObjectMapper().findAndRegisterModules(), BenchmarkFixtures.metrics(), null);
+        codes = BenchmarkFixtures.currencyCodes();
+        rates = BenchmarkFixtures.rates(1L);
+        currencyRatesService.publishSnapshot(rates, Instant.now());
+    }
+
+    @State(Scope.Thread)
+    public static class ReaderCursor {
+        int position;
+    }
+
+    @Benchmark
+    @Group("publishUnderReads")
+    @GroupThreads(3)
+    public Double reader(ReaderCursor cursor) {
+        cursor.position = (cursor.position + 1) % codes.size();
+        return currencyRatesService.getExchangeRatesForCurrency(codes.get(cursor.position));
+    }
+
+    @Benchmark
+    @Group("publishUnderReads")
+    @GroupThreads(1)
+    public RatesSnapshot publisher() {
+        return currencyRatesService.publishSnapshot(rates, Instant.now());
+    }
+}
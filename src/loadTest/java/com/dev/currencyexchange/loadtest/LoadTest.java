@@ -0,0 +1,133 @@
+package com.dev.currencyexchange.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load driver used to compare the platform-thread and virtual-thread modes. A fixed number of
+ * workers call one URL back to back for the given duration; throughput and latency percentiles of the measured
+ * phase are printed at the end, followed by one Markdown table row for the results table in the README.
+ *
+ * <p>Arguments: {@code url concurrency warmup duration [label]}, durations in ISO-8601 form (for example
+ * {@code PT30S}). The label names the row, typically the thread mode under test.
+ *
+ * <p>{@code 429} responses are counted separately. When more than {@link #MAX_THROTTLED_SHARE} of the responses are
+ * throttled the numbers describe the rate limiter rather than the server, so the run fails instead of printing a row.
+ */
+public final class LoadTest {
+    private static final double MAX_THROTTLED_SHARE = 0.01;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args[0]);
+        int concurrency = Integer.parseInt(args[1]);
+        Duration warmup = Duration.parse(args[2]);
+        Duration duration = Duration.parse(args[3]);
+        String label = args.length > 4 ? args[4] : uri.getPath();
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+
+        System.out.printf("Warming up %s with %d workers for %s%n", uri, concurrency, warmup);
+        run(client, request, concurrency, warmup);
+        System.out.printf("Measuring for %s%n", duration);
+        Result result = run(client, request, concurrency, duration);
+
+        long[] latencies = result.latenciesNanos();
+        Arrays.sort(latencies);
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("requests=%d errors=%d throttled=%d throughput=%.1f req/s%n",
+                latencies.length, result.errors(), result.throttled(), latencies.length / seconds);
+        System.out.printf("p50=%.2f ms p99=%.2f ms max=%.2f ms%n",
+                percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99),
+                percentileMillis(latencies, 1.0));
+        long responses = latencies.length + result.errors() + result.throttled();
+        if (result.throttled() > responses * MAX_THROTTLED_SHARE) {
+            System.err.printf("%d of %d responses were 429 Too Many Requests. The rate limiter, not the server, "
+                            + "decided these numbers; restart the service with --rate-limit.enabled=false.%n",
+                    result.throttled(), responses);
+            System.exit(1);
+        }
+        System.out.printf("| %s | %d | %.1f | %.2f | %.2f | %d |%n", label, concurrency,
+                latencies.length / seconds, percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99),
+                result.errors());
+        System.exit(0);
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, Duration duration)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong throttled = new AtomicLong();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[]>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 429) {
+                            throttled.incrementAndGet();
+                            continue;
+                        }
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                        continue;
+                    }
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(samples, count);
+            }));
+        }
+
+        List<long[]> perWorker = new ArrayList<>(concurrency);
+        for (Future<long[]> future : futures) {
+            perWorker.add(future.get());
+        }
+        workers.shutdown();
+
+        long[] latencies = new long[perWorker.stream().mapToInt(samples -> samples.length).sum()];
+        int offset = 0;
+        for (long[] samples : perWorker) {
+            System.arraycopy(samples, 0, latencies, offset, samples.length);
+            offset += samples.length;
+        }
+        return new Result(latencies, errors.get(), throttled.get());
+    }
+
+    private static double percentileMillis(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record Result(long[] latenciesNanos, long errors, long throttled) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.dev.currencyexchange.client;
+
+import com.dev.currencyexchange.config.ExchangeClientProperties;
+import com.dev.currencyexchange.dto.ExchangeRateResponse;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Client for one exchangeratesapi.io compatible provider. Transient failures (I/O errors, timeouts, 5xx and 429
+ * responses) are retried with jittered exponential backoff, and the retried fetch as a whole runs through a
+ * per-provider circuit breaker, so the breaker window counts refreshes rather than individual attempts. Retries stop
+ * early when the backoff wait plus the next attempt could not finish within the caller's timeout.
+ */
+public class ExchangeRatesClient implements RateProvider {
+    private static final Logger LOG = LoggerFactory.getLogger(ExchangeRatesClient.class);
+
+    private final String name;
+    private final int priority;
+    private final RestTemplate restTemplate;
+    private final String exchangeRatesApiUrl;
+    private final String apiKey;
+    private final CircuitBreaker circuitBreaker;
+    private final RetryConfig retryConfig;
+    private final ExchangeClientProperties.Retry retryProperties;
+    private final long attemptNanos;
+
+    public ExchangeRatesClient(String name,
+                               int priority,
+                               RestTemplate restTemplate,
+                               ExchangeClientProperties properties,
+                               String exchangeRatesApiUrl,
+                               String apiKey) {
+        this.name = name;
+        this.priority = priority;
+        this.restTemplate = restTemplate;
+        this.exchangeRatesApiUrl = exchangeRatesApiUrl;
+        this.apiKey = apiKey;
+        this.circuitBreaker = CircuitBreaker.of(name, circuitBreakerConfig(properties.getCircuitBreaker()));
+        this.retryConfig = retryConfig(properties.getRetry());
+        this.retryProperties = properties.getRetry();
+        this.attemptNanos = properties.getConnectTimeout().plus(properties.getReadTimeout()).toNanos();
+
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                LOG.warn("Circuit breaker {} changed state: {}", name, event.getStateTransition()));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+
+    @Override
+    public Map<String, Double> fetchLatestRates(String baseCurrency, List<String> currencyCodes, Duration timeout) {
+        String url = String.format("%s?access_key=%s&base=%s&symbols=%s", exchangeRatesApiUrl, apiKey, baseCurrency,
+                String.join(",", currencyCodes));
+
+        // A failure is only retried while the longest backoff before the next attempt plus a full attempt (connect
+        // plus read timeout) still fit before the deadline, so the final outcome reaches the caller in time instead
+        // of being cut off as a timeout.
+        long deadlineNanos = System.nanoTime() + timeout.toNanos();
+        AtomicInteger failures = new AtomicInteger();
+        Retry retry = Retry.of(name, RetryConfig.from(retryConfig)
+                .retryOnException(throwable -> isTransient(throwable)
+                        && deadlineNanos - System.nanoTime()
+                        >= maxBackoffNanos(failures.incrementAndGet()) + attemptNanos)
+                .build());
+        retry.getEventPublisher().onRetry(event ->
+                LOG.warn("Retrying exchange rates request to {}, attempt {} after {}: {}", name,
+                        event.getNumberOfRetryAttempts(), event.getWaitInterval(),
+                        String.valueOf(event.getLastThrowable())));
+
+        ResponseEntity<ExchangeRateResponse> response = CircuitBreaker.decorateSupplier(circuitBreaker,
+                Retry.decorateSupplier(retry, () ->
+                        restTemplate.exchange(url, HttpMethod.GET, null, ExchangeRateResponse.class))).get();
+
+        ExchangeRateResponse body = response.getBody();
+        if (body == null || body.getRates() == null) {
+            return Map.of();
+        }
+        return body.getRates();
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * Upper bound of the jittered wait before the given retry, matching
+     * {@link IntervalFunction#ofExponentialRandomBackoff}: the capped exponential interval plus the full jitter.
+     */
+    private long maxBackoffNanos(int retryNumber) {
+        double interval = retryProperties.getInitialBackoff().toNanos()
+                * Math.pow(retryProperties.getMultiplier(), retryNumber - 1);
+        double capped = Math.min(interval, retryProperties.getMaxBackoff().toNanos());
+        return (long) (capped * (1 + retryProperties.getJitter()));
+    }
+
+    private static CircuitBreakerConfig circuitBreakerConfig(ExchangeClientProperties.CircuitBreaker properties) {
+        return CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(properties.getSlidingWindowSize())
+                .minimumNumberOfCalls(properties.getMinimumNumberOfCalls())
+                .failureRateThreshold(properties.getFailureRateThreshold())
+                .waitDurationInOpenState(properties.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(properties.getPermittedCallsInHalfOpenState())
+                .recordException(ExchangeRatesClient::isTransient)
+                .build();
+    }
+
+    private static RetryConfig retryConfig(ExchangeClientProperties.Retry properties) {
+        return RetryConfig.custom()
+                .maxAttempts(properties.getMaxAttempts())
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(properties.getInitialBackoff(),
+                        properties.getMultiplier(), properties.getJitter(), properties.getMaxBackoff()))
+                .build();
+    }
+
+    private static boolean isTransient(Throwable throwable) {
+        if (throwable instanceof ResourceAccessException) {
+            return true;
+        }
+        if (throwable instanceof HttpStatusCodeException statusException) {
+            return statusException.getStatusCode().is5xxServerError()
+                    || statusException.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,25 @@
+package com.dev.currencyexchange.client;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Source of latest exchange rates. Implementations throw on transport or upstream errors and return an empty map
+ * when the provider answered without rates.
+ */
+public interface RateProvider {
+
+    String getName();
+
+    /**
+     * Lower values are preferred when rates are combined by priority or no consensus can be reached.
+     */
+    int getPriority();
+
+    /**
+     * Fetches rates for the given currencies. Implementations should not start work, such as a retry, that cannot
+     * finish within {@code timeout}.
+     */
+    Map<String, Double> fetchLatestRates(String baseCurrency, List<String> currencyCodes, Duration timeout);
+}
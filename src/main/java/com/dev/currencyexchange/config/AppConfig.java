@@ -1,14 +1,83 @@
 package com.dev.currencyexchange.config;
 
+import com.dev.currencyexchange.client.ExchangeRatesClient;
+import com.dev.currencyexchange.client.RateProvider;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
+
 @Configuration
+@EnableConfigurationProperties(ExchangeClientProperties.class)
 public class AppConfig {
+    private static final String DEFAULT_PROVIDER = "exchangeratesapi";
+
+    /**
+     * The pooled client is a bean of its own so that the context closes it, together with its connection pool and
+     * idle eviction thread, on shutdown.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient exchangeHttpClient(ExchangeClientProperties properties) {
+        return pooledHttpClient(properties);
+    }
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient exchangeHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(exchangeHttpClient));
+    }
+
+    /**
+     * Builds one client per configured provider. Without an explicit provider list the single provider from
+     * {@code exchange.api.url} and {@code api.key} is used.
+     */
+    @Bean
+    public List<RateProvider> rateProviders(RestTemplate restTemplate,
+                                            ExchangeClientProperties properties,
+                                            @Value("${exchange.api.url}") String exchangeRatesApiUrl,
+                                            @Value("${api.key}") String apiKey) {
+        if (properties.getProviders().isEmpty()) {
+            return List.of(new ExchangeRatesClient(DEFAULT_PROVIDER, 0, restTemplate, properties,
+                    exchangeRatesApiUrl, apiKey));
+        }
+        return properties.getProviders().stream()
+                .<RateProvider>map(provider -> new ExchangeRatesClient(provider.getName(), provider.getPriority(),
+                        restTemplate, properties, provider.getUrl(), provider.getApiKey()))
+                .toList();
+    }
+
+    public static CloseableHttpClient pooledHttpClient(ExchangeClientProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+                        .setTimeToLive(TimeValue.of(properties.getConnectionTimeToLive()))
+                        .build())
+                .build();
+
+        // Retries are driven by ExchangeRatesClient so that they share the backoff and circuit breaker policy.
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(properties.getReadTimeout()))
+                        .build())
+                .evictIdleConnections(TimeValue.of(properties.getIdleConnectionEviction()))
+                .evictExpiredConnections()
+                .disableAutomaticRetries()
+                .build();
     }
 }
@@ -0,0 +1,57 @@
+package com.dev.currencyexchange.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "exchange.client")
+public class ExchangeClientProperties {
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    private int maxConnections = 20;
+    private int maxConnectionsPerRoute = 10;
+    private Duration connectionTimeToLive = Duration.ofMinutes(5);
+    private Duration idleConnectionEviction = Duration.ofSeconds(30);
+    private Retry retry = new Retry();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Duration deadline = Duration.ofSeconds(40);
+    private Aggregation aggregation = Aggregation.MEDIAN;
+    private double maxDeviation = 0.02;
+    private List<Provider> providers = new ArrayList<>();
+
+    public enum Aggregation {
+        MEDIAN,
+        PRIORITY
+    }
+
+    @Data
+    public static class Provider {
+        private String name;
+        private String url;
+        private String apiKey;
+        private int priority;
+    }
+
+    @Data
+    public static class Retry {
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(500);
+        private double multiplier = 2.0;
+        private double jitter = 0.5;
+        private Duration maxBackoff = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        private float failureRateThreshold = 75;
+        private int slidingWindowSize = 4;
+        private int minimumNumberOfCalls = 2;
+        private Duration waitDurationInOpenState = Duration.ofMinutes(90);
+        private int permittedCallsInHalfOpenState = 1;
+    }
+}
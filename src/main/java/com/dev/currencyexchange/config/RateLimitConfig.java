@@ -0,0 +1,37 @@
+package com.dev.currencyexchange.config;
+
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import com.dev.currencyexchange.ratelimit.ClientRateLimiter;
+import com.dev.currencyexchange.ratelimit.RateLimitFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Applies per-client quotas to the public {@code /currencies} API. Actuator and API docs are not limited.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter(RateLimitProperties properties,
+                                               ExchangeRateMetrics exchangeRateMetrics) {
+        return new ClientRateLimiter(properties, exchangeRateMetrics);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(ClientRateLimiter clientRateLimiter,
+                                                                   RateLimitProperties properties,
+                                                                   ExchangeRateMetrics exchangeRateMetrics) {
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(clientRateLimiter, properties, exchangeRateMetrics));
+        registration.addUrlPatterns("/currencies", "/currencies/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,37 @@
+package com.dev.currencyexchange.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private String apiKeyHeader = "X-API-Key";
+    private int capacity = 100;
+    private double refillPerSecond = 50;
+    private int maxClients = 100_000;
+    private Duration idleEviction = Duration.ofMinutes(10);
+    /** Minimum time between evictions triggered by new clients arriving while the map is full. */
+    private Duration onDemandEvictionInterval = Duration.ofSeconds(1);
+    /** Quotas of known API keys; requests without a configured key are limited per client IP. */
+    private Map<String, Quota> clients = new HashMap<>();
+
+    public Quota defaultQuota() {
+        return new Quota(capacity, refillPerSecond);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Quota {
+        private int capacity;
+        private double refillPerSecond;
+    }
+}
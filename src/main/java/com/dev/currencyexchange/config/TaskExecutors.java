@@ -0,0 +1,52 @@
+package com.dev.currencyexchange.config;
+
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the executors used for blocking work outside the request and scheduler threads. With
+ * {@code spring.threads.virtual.enabled} every task gets its own virtual thread; otherwise a fixed pool of daemon
+ * platform threads is used.
+ */
+public final class TaskExecutors {
+
+    private TaskExecutors() {
+    }
+
+    public static ExecutorService create(String threadNamePrefix, int platformThreads, boolean virtualThreads) {
+        if (virtualThreads) {
+            // No core threads and no keep-alive, so each task runs on a fresh virtual thread. The factory comes
+            // from Spring because Thread.ofVirtual() is not available when compiling for Java 17.
+            return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                    new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        return Executors.newFixedThreadPool(Math.max(1, platformThreads), threadFactory);
+    }
+
+    /**
+     * Like {@link #create}, but holds at most {@code maxPending} tasks that have not finished yet, counting queued
+     * tasks on platform threads and running tasks on virtual threads. Further tasks are rejected with
+     * {@link java.util.concurrent.RejectedExecutionException} instead of piling up.
+     */
+    public static ExecutorService createBounded(String threadNamePrefix, int platformThreads, int maxPending,
+                                                boolean virtualThreads) {
+        if (virtualThreads) {
+            return new ThreadPoolExecutor(0, Math.max(1, maxPending), 0L, TimeUnit.MILLISECONDS,
+                    new SynchronousQueue<>(), new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        int threads = Math.max(1, platformThreads);
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, maxPending)), threadFactory);
+    }
+}
@@ -0,0 +1,59 @@
+package com.dev.currencyexchange.controller;
+
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.service.BulkConversionService;
+import com.dev.currencyexchange.service.CurrencyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/currencies")
+@RequiredArgsConstructor
+public class BulkConversionController {
+    private static final Logger LOG = LoggerFactory.getLogger(BulkConversionController.class);
+
+    private final CurrencyService currencyService;
+    private final BulkConversionService bulkConversionService;
+
+    @Operation(summary = "Convert NDJSON or CSV lines of (from, to, amount), streaming one result line per input line.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Results streamed, failed lines carry an inline error."),
+            @ApiResponse(responseCode = "415", description = "Content type is neither NDJSON nor CSV."),
+            @ApiResponse(responseCode = "503", description = "No exchange rates available yet.")
+    })
+    @PostMapping(value = "/convert/stream", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public void convertStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        BulkConversionService.Format format = BulkConversionService.Format.of(request.getContentType());
+        // Every line of the request is converted with this snapshot, even if a refresh lands meanwhile.
+        RatesSnapshot snapshot = currencyService.getRatesSnapshot();
+        if (snapshot.isEmpty()) {
+            LOG.warn("Rejecting bulk conversion, no exchange rates available yet");
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(format.getMediaType().toString());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(CurrencyController.RATES_VERSION_HEADER, String.valueOf(snapshot.getVersion()));
+        response.setHeader(CurrencyController.RATES_STALE_HEADER, String.valueOf(snapshot.isRestored()));
+
+        BulkConversionService.Summary summary = bulkConversionService.convert(snapshot, format,
+                request.getInputStream(), response.getOutputStream());
+        LOG.info("Converted {} lines ({} failed) with snapshot version {}", summary.converted(), summary.failed(),
+                snapshot.getVersion());
+    }
+}
@@ -1,7 +1,15 @@
 package com.dev.currencyexchange.controller;
 
+import com.dev.currencyexchange.dto.ConversionDto;
+import com.dev.currencyexchange.dto.CurrencyBatchResultDto;
 import com.dev.currencyexchange.dto.CurrencyDto;
+import com.dev.currencyexchange.dto.ExchangeRatesDto;
+import com.dev.currencyexchange.exception.CurrencyAlreadyExistsException;
+import com.dev.currencyexchange.model.CurrencyCatalog;
+import com.dev.currencyexchange.model.RatesSnapshot;
 import com.dev.currencyexchange.service.CurrencyService;
+import com.dev.currencyexchange.web.ConditionalGet;
+import com.dev.currencyexchange.web.HttpCachePolicy;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -11,18 +19,24 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
+import static com.dev.currencyexchange.logging.SampledLogFilter.SAMPLED;
+
 @RestController
 @RequestMapping("/currencies")
 @RequiredArgsConstructor
 public class CurrencyController {
     private static final Logger LOG = LoggerFactory.getLogger(CurrencyController.class);
+    public static final String RATES_VERSION_HEADER = "X-Rates-Version";
+    public static final String RATES_STALE_HEADER = "X-Rates-Stale";
 
     private final CurrencyService currencyService;
+    private final HttpCachePolicy httpCachePolicy;
 
     @Operation(summary = "Get a list of currencies used in the project.")
     @ApiResponses(value = {
@@ -35,10 +49,15 @@ public class CurrencyController {
             @ApiResponse(responseCode = "500", description = "Internal server error.")
     })
     @GetMapping
-    public ResponseEntity<List<CurrencyDto>> getAllCurrencies() {
-        List<CurrencyDto> allCurrencies = currencyService.getAllCurrencies();
-        LOG.info("Fetched {} currencies from the database", allCurrencies.size());
-        return ResponseEntity.ok(allCurrencies);
+    @ConditionalGet(ConditionalGet.Resource.CATALOG)
+    public ResponseEntity<?> getAllCurrencies() {
+        CurrencyCatalog catalog = currencyService.getCurrencyCatalog();
+        LOG.info(SAMPLED, "Serving {} currencies from catalog version {}", catalog.getCurrencies().size(),
+                catalog.getVersion());
+        Object body = catalog.getBody() != null ? catalog.getBody() : catalog.getCurrencies();
+        return httpCachePolicy.apply(ResponseEntity.ok(), httpCachePolicy.forCatalog(catalog))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     @Operation(summary = "Add new currency for getting exchange rates.")
@@ -48,17 +67,48 @@ public class CurrencyController {
                             schema = @Schema(implementation = CurrencyDto.class)
                     )
             }),
-            @ApiResponse(responseCode = "400", description = "Not found."),
+            @ApiResponse(responseCode = "400", description = "Invalid currency code or name."),
+            @ApiResponse(responseCode = "409", description = "Currency code already exists."),
             @ApiResponse(responseCode = "500", description = "Internal server error.")
     })
     @PostMapping
     public ResponseEntity<CurrencyDto> addCurrency(@RequestBody CurrencyDto currencyDto) {
-        CurrencyDto currency = currencyService.addCurrency(currencyDto);
-        LOG.info("Created new currency: {}", currency);
-        return ResponseEntity.ok(currency);
+        try {
+            CurrencyDto currency = currencyService.addCurrency(currencyDto);
+            LOG.info("Created new currency: {}", currency);
+            return ResponseEntity.ok(currency);
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Rejected currency: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(null);
+        } catch (CurrencyAlreadyExistsException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(null);
+        }
     }
 
-    @Operation(summary = "Get exchange rates for a currency.")
+    @Operation(summary = "Add several currencies in one transaction, skipping codes that already exist.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Per-item result of the batch.", content = {
+                    @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CurrencyBatchResultDto.class)
+                    )
+            }),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch."),
+            @ApiResponse(responseCode = "500", description = "Internal server error.")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<CurrencyBatchResultDto> addCurrencies(@RequestBody List<CurrencyDto> currencyDtos) {
+        try {
+            CurrencyBatchResultDto result = currencyService.addCurrencies(currencyDtos);
+            LOG.info("Added currency batch: {} created, {} existing, {} invalid", result.getCreated(),
+                    result.getExisting(), result.getInvalid());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Rejected currency batch: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
+    @Operation(summary = "Get exchange rates for a currency, optionally quoted against another base currency.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successful response.", content = {
                     @Content(mediaType = "application/json",
@@ -69,14 +119,91 @@ public class CurrencyController {
             @ApiResponse(responseCode = "500", description = "Internal server error.")
     })
     @GetMapping("/{currencyCode}")
-    public ResponseEntity<Double> getExchangeRateForCurrency(@PathVariable String currencyCode) {
+    @ConditionalGet(ConditionalGet.Resource.RATES)
+    public ResponseEntity<byte[]> getExchangeRateForCurrency(@PathVariable String currencyCode,
+                                                             @RequestParam(required = false) String base) {
+        RatesSnapshot snapshot = currencyService.getRatesSnapshot();
         try {
-            Double exchangeRate = currencyService.getExchangeRatesForCurrency(currencyCode);
-            LOG.info("Returning exchange rate {} for currency {}", exchangeRate, currencyCode);
-            return ResponseEntity.ok(exchangeRate);
+            byte[] exchangeRate = currencyService.getExchangeRateBody(snapshot, base, currencyCode);
+            LOG.info(SAMPLED, "Returning exchange rate for currency {} from snapshot version {}", currencyCode,
+                    snapshot.getVersion());
+            return httpCachePolicy.apply(ResponseEntity.ok(), httpCachePolicy.forRates(snapshot))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(RATES_VERSION_HEADER, String.valueOf(snapshot.getVersion()))
+                    .header(RATES_STALE_HEADER, String.valueOf(snapshot.isRestored()))
+                    .body(exchangeRate);
         } catch (RuntimeException e) {
             LOG.warn("Exchange rate for currency {} not found", currencyCode);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
         }
     }
+
+    @Operation(summary = "Get exchange rates for several currencies, or for all currencies when no codes are given.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful response.", content = {
+                    @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ExchangeRatesDto.class)
+                    )
+            }),
+            @ApiResponse(responseCode = "404", description = "Base currency not found."),
+            @ApiResponse(responseCode = "500", description = "Internal server error.")
+    })
+    @GetMapping("/rates")
+    @ConditionalGet(ConditionalGet.Resource.RATES)
+    public ResponseEntity<?> getExchangeRates(@RequestParam(required = false) List<String> codes,
+                                              @RequestParam(required = false) String base) {
+        RatesSnapshot snapshot = currencyService.getRatesSnapshot();
+        if (codes == null || codes.isEmpty()) {
+            byte[] body = currencyService.getAllExchangeRatesBody(snapshot, base);
+            if (body != null) {
+                return httpCachePolicy.apply(ResponseEntity.ok(), httpCachePolicy.forRates(snapshot))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(RATES_VERSION_HEADER, String.valueOf(snapshot.getVersion()))
+                        .header(RATES_STALE_HEADER, String.valueOf(snapshot.isRestored()))
+                        .body(body);
+            }
+        }
+
+        try {
+            ExchangeRatesDto exchangeRates = currencyService.getExchangeRates(base, codes);
+            return httpCachePolicy.apply(ResponseEntity.ok(), httpCachePolicy.forRates(snapshot))
+                    .header(RATES_VERSION_HEADER, String.valueOf(exchangeRates.getSnapshotVersion()))
+                    .header(RATES_STALE_HEADER, String.valueOf(exchangeRates.isStale()))
+                    .body(exchangeRates);
+        } catch (RuntimeException e) {
+            LOG.warn("Exchange rates for base currency {} not found", base);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+    }
+
+    @Operation(summary = "Convert an amount between two currencies using the current cross rates.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful response.", content = {
+                    @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ConversionDto.class)
+                    )
+            }),
+            @ApiResponse(responseCode = "404", description = "Not found."),
+            @ApiResponse(responseCode = "500", description = "Internal server error.")
+    })
+    @GetMapping("/convert")
+    @ConditionalGet(ConditionalGet.Resource.RATES)
+    public ResponseEntity<ConversionDto> convert(@RequestParam String from,
+                                                 @RequestParam String to,
+                                                 @RequestParam(defaultValue = "1") double amount) {
+        // Read before converting: if a refresh lands in between, the validators are older than the body and the
+        // next revalidation simply fetches it again.
+        RatesSnapshot snapshot = currencyService.getRatesSnapshot();
+        try {
+            ConversionDto conversion = currencyService.convert(from, to, amount);
+            LOG.info(SAMPLED, "Converted {} {} to {} {}", amount, from, conversion.getResult(), to);
+            return httpCachePolicy.apply(ResponseEntity.ok(), httpCachePolicy.forRates(snapshot))
+                    .header(RATES_VERSION_HEADER, String.valueOf(conversion.getSnapshotVersion()))
+                    .header(RATES_STALE_HEADER, String.valueOf(conversion.isStale()))
+                    .body(conversion);
+        } catch (RuntimeException e) {
+            LOG.warn("Exchange rate for conversion {} -> {} not found", from, to);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+    }
 }
@@ -0,0 +1,106 @@
+package com.dev.currencyexchange.controller;
+
+import com.dev.currencyexchange.dto.HistoricalRateDto;
+import com.dev.currencyexchange.dto.RateHistoryDto;
+import com.dev.currencyexchange.dto.RateRollupDto;
+import com.dev.currencyexchange.model.RollupGranularity;
+import com.dev.currencyexchange.service.RateHistoryService;
+import com.dev.currencyexchange.service.RateRollupService;
+import com.dev.currencyexchange.service.RateTimelineService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/currencies")
+@RequiredArgsConstructor
+public class RateHistoryController {
+    private static final Logger LOG = LoggerFactory.getLogger(RateHistoryController.class);
+
+    private final RateHistoryService rateHistoryService;
+    private final RateRollupService rateRollupService;
+    private final RateTimelineService rateTimelineService;
+
+    @Operation(summary = "Get the exchange rate history of a currency within a time range.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful response.", content = {
+                    @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RateHistoryDto.class)
+                    )
+            }),
+            @ApiResponse(responseCode = "400", description = "Invalid time range."),
+            @ApiResponse(responseCode = "500", description = "Internal server error.")
+    })
+    @GetMapping("/{currencyCode}/history")
+    public ResponseEntity<RateHistoryDto> getHistory(
+            @PathVariable String currencyCode,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        try {
+            return ResponseEntity.ok(rateHistoryService.getHistory(currencyCode, from, to));
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Invalid history request for currency {}: {}", currencyCode, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get open/high/low/close and mean rates of a currency per minute, hour, day or week.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful response.", content = {
+                    @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RateRollupDto.class)
+                    )
+            }),
+            @ApiResponse(responseCode = "400", description = "Invalid granularity or time range."),
+            @ApiResponse(responseCode = "500", description = "Internal server error.")
+    })
+    @GetMapping("/{currencyCode}/rollups")
+    public ResponseEntity<RateRollupDto> getRollups(
+            @PathVariable String currencyCode,
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        try {
+            return ResponseEntity.ok(rateRollupService.getRollups(currencyCode,
+                    RollupGranularity.valueOf(granularity.toUpperCase(Locale.ROOT)), from, to));
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Invalid rollup request for currency {}: {}", currencyCode, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get the exchange rate of a currency that was in effect at a point in time.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful response.", content = {
+                    @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = HistoricalRateDto.class)
+                    )
+            }),
+            @ApiResponse(responseCode = "404", description = "No rate known for the currency at that time."),
+            @ApiResponse(responseCode = "500", description = "Internal server error.")
+    })
+    @GetMapping(value = "/{currencyCode}", params = "at")
+    public ResponseEntity<HistoricalRateDto> getExchangeRateAt(
+            @PathVariable String currencyCode,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant at,
+            @RequestParam(required = false) String base) {
+        try {
+            return ResponseEntity.ok(rateTimelineService.getRateAt(currencyCode, base, at));
+        } catch (RuntimeException e) {
+            LOG.warn("Exchange rate for currency {} at {} not found", currencyCode, at);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.dev.currencyexchange.controller;
+
+import com.dev.currencyexchange.service.RateStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/currencies")
+@RequiredArgsConstructor
+public class RateStreamController {
+
+    private final RateStreamService rateStreamService;
+
+    @Operation(summary = "Subscribe to exchange rate updates as Server-Sent Events.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened."),
+            @ApiResponse(responseCode = "503", description = "Subscriber limit reached.")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamRates(@RequestParam(required = false) Set<String> codes) {
+        try {
+            return ResponseEntity.ok(rateStreamService.subscribe(codes));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
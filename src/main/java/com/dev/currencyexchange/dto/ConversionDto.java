@@ -0,0 +1,20 @@
+package com.dev.currencyexchange.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConversionDto {
+    private String from;
+    private String to;
+    private double amount;
+    private double rate;
+    private double result;
+    private long snapshotVersion;
+    private boolean stale;
+}
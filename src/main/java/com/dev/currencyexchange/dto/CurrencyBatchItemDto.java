@@ -0,0 +1,32 @@
+package com.dev.currencyexchange.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CurrencyBatchItemDto {
+    private String code;
+    private Status status;
+    private String error;
+
+    public enum Status {
+        CREATED,
+        EXISTING,
+        INVALID
+    }
+
+    public static CurrencyBatchItemDto created(String code) {
+        return new CurrencyBatchItemDto(code, Status.CREATED, null);
+    }
+
+    public static CurrencyBatchItemDto existing(String code) {
+        return new CurrencyBatchItemDto(code, Status.EXISTING, null);
+    }
+
+    public static CurrencyBatchItemDto invalid(String code, String error) {
+        return new CurrencyBatchItemDto(code, Status.INVALID, error);
+    }
+}
@@ -0,0 +1,31 @@
+package com.dev.currencyexchange.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CurrencyBatchResultDto {
+    private int created;
+    private int existing;
+    private int invalid;
+    private List<CurrencyBatchItemDto> items;
+
+    public static CurrencyBatchResultDto of(List<CurrencyBatchItemDto> items) {
+        int created = 0;
+        int existing = 0;
+        int invalid = 0;
+        for (CurrencyBatchItemDto item : items) {
+            switch (item.getStatus()) {
+                case CREATED -> created++;
+                case EXISTING -> existing++;
+                case INVALID -> invalid++;
+            }
+        }
+        return new CurrencyBatchResultDto(created, existing, invalid, items);
+    }
+}
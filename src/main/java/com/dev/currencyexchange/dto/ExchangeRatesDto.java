@@ -0,0 +1,62 @@
+package com.dev.currencyexchange.dto;
+
+import com.dev.currencyexchange.model.CrossRateMatrix;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExchangeRatesDto {
+    private String baseCurrency;
+    private long snapshotVersion;
+    private Instant fetchedAt;
+    private boolean stale;
+    private List<RateEntryDto> rates;
+
+    public static ExchangeRatesDto of(RatesSnapshot snapshot, List<RateEntryDto> rates) {
+        return of(snapshot, snapshot.getBaseCurrency(), rates);
+    }
+
+    public static ExchangeRatesDto of(RatesSnapshot snapshot, String baseCurrency, List<RateEntryDto> rates) {
+        return ExchangeRatesDto.builder()
+                .baseCurrency(baseCurrency)
+                .snapshotVersion(snapshot.getVersion())
+                .fetchedAt(snapshot.getFetchedAt())
+                .stale(snapshot.isRestored())
+                .rates(rates)
+                .build();
+    }
+
+    public static ExchangeRatesDto allRates(RatesSnapshot snapshot) {
+        return of(snapshot, snapshot.getRates().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> RateEntryDto.found(entry.getKey(), entry.getValue(),
+                        snapshot.getSource(entry.getKey())))
+                .toList());
+    }
+
+    public static ExchangeRatesDto allRates(RatesSnapshot snapshot, String baseCurrency) {
+        if (snapshot.isFetchedBase(baseCurrency)) {
+            return allRates(snapshot);
+        }
+        CrossRateMatrix crossRates = snapshot.getCrossRates();
+        int baseIndex = crossRates.indexOf(baseCurrency);
+        List<RateEntryDto> rates = new ArrayList<>(crossRates.size());
+        for (int index = 0; index < crossRates.size(); index++) {
+            rates.add(RateEntryDto.found(crossRates.codeAt(index), crossRates.rate(baseIndex, index)));
+        }
+        rates.sort(Comparator.comparing(RateEntryDto::getCode));
+        return of(snapshot, baseCurrency, rates);
+    }
+}
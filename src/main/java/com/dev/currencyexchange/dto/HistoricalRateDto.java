@@ -0,0 +1,21 @@
+package com.dev.currencyexchange.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HistoricalRateDto {
+    private String currencyCode;
+    private String baseCurrency;
+    private Instant at;
+    /** When the returned rate was fetched; it stayed in effect until {@code at}. */
+    private Instant effectiveAt;
+    private double exchangeRate;
+}
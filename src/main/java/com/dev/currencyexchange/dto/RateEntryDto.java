@@ -0,0 +1,27 @@
+package com.dev.currencyexchange.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateEntryDto {
+    private String code;
+    private Double rate;
+    private String source;
+    private String error;
+
+    public static RateEntryDto found(String code, double rate) {
+        return found(code, rate, null);
+    }
+
+    public static RateEntryDto found(String code, double rate, String source) {
+        return new RateEntryDto(code, rate, source, null);
+    }
+
+    public static RateEntryDto notFound(String code) {
+        return new RateEntryDto(code, null, null, "Exchange rate not found for currency: " + code);
+    }
+}
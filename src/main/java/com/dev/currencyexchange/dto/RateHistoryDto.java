@@ -0,0 +1,24 @@
+package com.dev.currencyexchange.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateHistoryDto {
+    private String currencyCode;
+    private Instant from;
+    private Instant to;
+    private List<RateHistoryPointDto> points;
+    /**
+     * Set when the range holds more than {@code history.max-points} points and only the oldest were returned.
+     */
+    private boolean truncated;
+}
@@ -0,0 +1,22 @@
+package com.dev.currencyexchange.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateRollupBucketDto {
+    private Instant bucketStart;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private double mean;
+    private long samples;
+}
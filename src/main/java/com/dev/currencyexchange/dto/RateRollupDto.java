@@ -0,0 +1,22 @@
+package com.dev.currencyexchange.dto;
+
+import com.dev.currencyexchange.model.RollupGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateRollupDto {
+    private String currencyCode;
+    private RollupGranularity granularity;
+    private Instant from;
+    private Instant to;
+    private List<RateRollupBucketDto> buckets;
+}
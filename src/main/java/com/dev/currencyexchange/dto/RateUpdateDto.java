@@ -0,0 +1,20 @@
+package com.dev.currencyexchange.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateUpdateDto {
+    private long snapshotVersion;
+    private String baseCurrency;
+    private Instant fetchedAt;
+    private Map<String, Double> rates;
+}
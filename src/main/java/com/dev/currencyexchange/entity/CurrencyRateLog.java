@@ -6,20 +6,39 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.Map;
+import java.io.Serializable;
+import java.time.Instant;
 
 @Entity
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@IdClass(CurrencyRateLog.Key.class)
 public class CurrencyRateLog {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    private String currencyCode;
 
+    @Id
+    private Instant fetchedAt;
+
+    @Column(nullable = false)
     private String baseCurrency;
 
-    @ElementCollection
-    private Map<String, Double> rates;
+    @Column(nullable = false)
+    private Double rate;
+
+    private String provider;
+
+    /** True when the row belongs to a full checkpoint rather than to a delta of changed rates. */
+    @Column(nullable = false)
+    private boolean checkpoint;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String currencyCode;
+        private Instant fetchedAt;
+    }
 }
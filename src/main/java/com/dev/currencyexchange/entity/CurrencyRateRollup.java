@@ -0,0 +1,70 @@
+package com.dev.currencyexchange.entity;
+
+import com.dev.currencyexchange.model.RollupGranularity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(CurrencyRateRollup.Key.class)
+public class CurrencyRateRollup {
+    @Id
+    private String currencyCode;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private RollupGranularity granularity;
+
+    @Id
+    private Instant bucketStart;
+
+    @Column(nullable = false)
+    private String baseCurrency;
+
+    @Column(nullable = false)
+    private double open;
+
+    @Column(nullable = false)
+    private double high;
+
+    @Column(nullable = false)
+    private double low;
+
+    @Column(nullable = false)
+    private double close;
+
+    /** Sum of all rates observed in the bucket, so the mean can be extended without rereading the samples. */
+    @Column(nullable = false)
+    private double rateSum;
+
+    @Column(nullable = false)
+    private long sampleCount;
+
+    @Column(nullable = false)
+    private Instant openAt;
+
+    @Column(nullable = false)
+    private Instant closeAt;
+
+    public double getMean() {
+        return sampleCount == 0 ? 0 : rateSum / sampleCount;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String currencyCode;
+        private RollupGranularity granularity;
+        private Instant bucketStart;
+    }
+}
@@ -0,0 +1,18 @@
+package com.dev.currencyexchange.event;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class CurrencyCatalogChangedEvent {
+    List<String> currencyCodes;
+
+    public CurrencyCatalogChangedEvent(List<String> currencyCodes) {
+        this.currencyCodes = List.copyOf(currencyCodes);
+    }
+
+    public CurrencyCatalogChangedEvent(String currencyCode) {
+        this(List.of(currencyCode));
+    }
+}
@@ -0,0 +1,9 @@
+package com.dev.currencyexchange.event;
+
+import com.dev.currencyexchange.model.CurrencyCatalog;
+import lombok.Value;
+
+@Value
+public class CurrencyCatalogLoadedEvent {
+    CurrencyCatalog catalog;
+}
@@ -0,0 +1,22 @@
+package com.dev.currencyexchange.event;
+
+import com.dev.currencyexchange.model.RatesSnapshot;
+import lombok.Value;
+
+@Value
+public class RatesSnapshotPublishedEvent {
+    RatesSnapshot snapshot;
+    RatesSnapshot previous;
+    /** True when the snapshot was fetched by another replica and only applied here. */
+    boolean replicated;
+
+    public RatesSnapshotPublishedEvent(RatesSnapshot snapshot, RatesSnapshot previous) {
+        this(snapshot, previous, false);
+    }
+
+    public RatesSnapshotPublishedEvent(RatesSnapshot snapshot, RatesSnapshot previous, boolean replicated) {
+        this.snapshot = snapshot;
+        this.previous = previous;
+        this.replicated = replicated;
+    }
+}
@@ -0,0 +1,17 @@
+package com.dev.currencyexchange.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a currency is added with a code that is already registered.
+ */
+@Getter
+public class CurrencyAlreadyExistsException extends RuntimeException {
+
+    private final String currencyCode;
+
+    public CurrencyAlreadyExistsException(String currencyCode) {
+        super("Currency with code " + currencyCode + " already exists.");
+        this.currencyCode = currencyCode;
+    }
+}
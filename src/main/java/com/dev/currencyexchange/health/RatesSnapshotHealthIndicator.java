@@ -0,0 +1,36 @@
+package com.dev.currencyexchange.health;
+
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.service.CurrencyRatesService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Part of the readiness group: an instance is ready once it serves a rate snapshot, either fetched or restored at
+ * startup. Restored and outdated snapshots stay UP but are reported as stale.
+ */
+@Component
+@RequiredArgsConstructor
+public class RatesSnapshotHealthIndicator implements HealthIndicator {
+    private final CurrencyRatesService currencyRatesService;
+    private final ExchangeRateMetrics exchangeRateMetrics;
+
+    @Override
+    public Health health() {
+        RatesSnapshot snapshot = currencyRatesService.getSnapshot();
+        if (snapshot.isEmpty()) {
+            return Health.outOfService()
+                    .withDetail("reason", "No exchange rates loaded yet")
+                    .build();
+        }
+        return Health.up()
+                .withDetail("version", snapshot.getVersion())
+                .withDetail("fetchedAt", snapshot.getFetchedAt())
+                .withDetail("restored", snapshot.isRestored())
+                .withDetail("stale", exchangeRateMetrics.isStale())
+                .build();
+    }
+}
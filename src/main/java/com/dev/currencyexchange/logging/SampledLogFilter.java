@@ -0,0 +1,50 @@
+package com.dev.currencyexchange.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps only a fraction of the log events marked {@link #SAMPLED}, such as per-request success logs on hot read
+ * paths. The decision is taken before the event is created or its message formatted, so a dropped event costs a
+ * random number. Events at {@code WARN} and above are never sampled away.
+ */
+public class SampledLogFilter extends TurboFilter {
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private volatile double rate = 1.0;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (marker == null || level == null || level.isGreaterOrEqual(Level.WARN) || !marker.contains(SAMPLED)) {
+            return FilterReply.NEUTRAL;
+        }
+        double sampleRate = rate;
+        if (sampleRate >= 1.0) {
+            return FilterReply.NEUTRAL;
+        }
+        return sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate
+                ? FilterReply.NEUTRAL
+                : FilterReply.DENY;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    /**
+     * @param rate fraction of sampled events to keep, from {@code 0} (none) to {@code 1} (all)
+     */
+    public void setRate(double rate) {
+        if (rate < 0.0 || rate > 1.0 || Double.isNaN(rate)) {
+            throw new IllegalArgumentException("Log sampling rate must be between 0 and 1, got " + rate);
+        }
+        this.rate = rate;
+    }
+}
@@ -0,0 +1,210 @@
+package com.dev.currencyexchange.metrics;
+
+import com.dev.currencyexchange.event.RatesSnapshotPublishedEvent;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+@Component
+public class ExchangeRateMetrics {
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_EMPTY = "empty";
+    public static final String OUTCOME_HTTP_ERROR = "http_error";
+    public static final String OUTCOME_ERROR = "error";
+    public static final String OUTCOME_CIRCUIT_OPEN = "circuit_open";
+    public static final String OUTCOME_TIMEOUT = "timeout";
+    public static final String OUTCOME_RETRY = "retry";
+    public static final String OUTCOME_DROPPED = "dropped";
+    public static final String CACHE_CATALOG = "catalog";
+    public static final String CACHE_RATE_BODY = "rate_body";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration staleAfter;
+    private final DistributionSummary ratesPerFetch;
+    private final Timer historyWriteTimer;
+    private final Counter catalogHits;
+    private final Counter catalogMisses;
+    private final Counter rateBodyHits;
+    private final Counter rateBodyMisses;
+    private final Map<String, Counter> throttledCounters = new ConcurrentHashMap<>();
+
+    private volatile RatesSnapshot latestSnapshot;
+
+    public ExchangeRateMetrics(MeterRegistry meterRegistry, @Value("${rates.stale-after:PT2H}") Duration staleAfter) {
+        this.meterRegistry = meterRegistry;
+        this.staleAfter = staleAfter;
+        this.ratesPerFetch = DistributionSummary.builder("exchange.rates.fetch.rates")
+                .description("Number of rates returned by one upstream fetch")
+                .register(meterRegistry);
+        this.historyWriteTimer = Timer.builder("exchange.rates.history.write")
+                .description("Time spent writing fetched rates to currency_rate_log")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        // Cache reads are counted on every request, so their counters are registered once instead of looked up.
+        this.catalogHits = cacheCounter(CACHE_CATALOG, true);
+        this.catalogMisses = cacheCounter(CACHE_CATALOG, false);
+        this.rateBodyHits = cacheCounter(CACHE_RATE_BODY, true);
+        this.rateBodyMisses = cacheCounter(CACHE_RATE_BODY, false);
+        Gauge.builder("exchange.rates.snapshot.age", this, ExchangeRateMetrics::snapshotAgeSeconds)
+                .description("Seconds since the current rate snapshot was fetched")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("exchange.rates.snapshot.stale", this, metrics -> metrics.isStale() ? 1 : 0)
+                .description("1 when the current rate snapshot is missing, restored at startup "
+                        + "or older than rates.stale-after")
+                .register(meterRegistry);
+        Gauge.builder("exchange.rates.snapshot.version", this, ExchangeRateMetrics::snapshotVersion)
+                .description("Version of the current rate snapshot")
+                .register(meterRegistry);
+    }
+
+    public Timer.Sample startFetch() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void recordFetch(Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder("exchange.rates.fetch")
+                .description("Latency of upstream exchange rate fetches")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry));
+    }
+
+    public void recordProviderFetch(String provider, String outcome, Duration duration) {
+        Timer.builder("exchange.rates.provider.fetch")
+                .description("Latency of exchange rate fetches per provider")
+                .tag("provider", provider)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    public void recordOutlier(String provider) {
+        Counter.builder("exchange.rates.provider.outliers")
+                .description("Provider quotes rejected for deviating from the cross-provider median")
+                .tag("provider", provider)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordRatesFetched(int count) {
+        ratesPerFetch.record(count);
+    }
+
+    public <T> T timeHistoryWrite(Supplier<T> write) {
+        return historyWriteTimer.record(write);
+    }
+
+    public void registerHistoryQueue(Collection<?> queue, int capacity) {
+        Gauge.builder("exchange.rates.history.queue.size", queue, Collection::size)
+                .description("Refreshes waiting in the rate history write-behind queue")
+                .register(meterRegistry);
+        Gauge.builder("exchange.rates.history.queue.remaining", queue, pending -> capacity - pending.size())
+                .description("Free slots in the rate history write-behind queue")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts rate history write attempts by outcome: {@code success}, {@code retry}, {@code error} when a batch is
+     * discarded and {@code dropped} when the queue is full.
+     */
+    public void recordHistoryWrite(String outcome, int refreshes) {
+        Counter.builder("exchange.rates.history.writes")
+                .description("Refreshes handled by the rate history write-behind queue")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(refreshes);
+    }
+
+    public void registerFetchLeader(BooleanSupplier leader) {
+        Gauge.builder("exchange.rates.cluster.leader", leader, supplier -> supplier.getAsBoolean() ? 1 : 0)
+                .description("1 while this replica holds the rates fetch lease")
+                .register(meterRegistry);
+    }
+
+    public void registerRateLimitClients(Map<?, ?> buckets) {
+        Gauge.builder("exchange.ratelimit.clients", buckets, Map::size)
+                .description("Clients with a rate limit bucket")
+                .register(meterRegistry);
+    }
+
+    public void recordThrottled(String clientType) {
+        // Rejections can come in floods, so the counter of each client type is only built once.
+        throttledCounters.computeIfAbsent(clientType, type -> Counter.builder("exchange.ratelimit.throttled")
+                        .description("Requests rejected with 429 because the client exhausted its quota")
+                        .tag("client_type", type)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    public void recordBulkConversion(long converted, long failed) {
+        Counter.builder("exchange.conversions.bulk.lines")
+                .description("Lines handled by the streaming bulk conversion endpoint")
+                .tag("outcome", OUTCOME_SUCCESS)
+                .register(meterRegistry)
+                .increment(converted);
+        Counter.builder("exchange.conversions.bulk.lines")
+                .description("Lines handled by the streaming bulk conversion endpoint")
+                .tag("outcome", OUTCOME_ERROR)
+                .register(meterRegistry)
+                .increment(failed);
+    }
+
+    public void recordCacheAccess(String cache, boolean hit) {
+        Counter counter = switch (cache) {
+            case CACHE_CATALOG -> hit ? catalogHits : catalogMisses;
+            case CACHE_RATE_BODY -> hit ? rateBodyHits : rateBodyMisses;
+            default -> throw new IllegalArgumentException("Unknown cache: " + cache);
+        };
+        counter.increment();
+    }
+
+    private Counter cacheCounter(String cache, boolean hit) {
+        return Counter.builder("exchange.cache.requests")
+                .description("Reads served from in-memory caches")
+                .tag("cache", cache)
+                .tag("result", hit ? "hit" : "miss")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onSnapshotPublished(RatesSnapshotPublishedEvent event) {
+        latestSnapshot = event.getSnapshot();
+    }
+
+    public boolean isStale() {
+        RatesSnapshot snapshot = latestSnapshot;
+        if (snapshot != null && snapshot.isRestored()) {
+            return true;
+        }
+        double age = snapshotAgeSeconds();
+        return Double.isNaN(age) || age > staleAfter.toSeconds();
+    }
+
+    private double snapshotAgeSeconds() {
+        RatesSnapshot snapshot = latestSnapshot;
+        if (snapshot == null || snapshot.getFetchedAt() == null) {
+            return Double.NaN;
+        }
+        return Duration.between(snapshot.getFetchedAt(), Instant.now()).toMillis() / 1000.0;
+    }
+
+    private double snapshotVersion() {
+        RatesSnapshot snapshot = latestSnapshot;
+        return snapshot == null ? 0 : snapshot.getVersion();
+    }
+}
@@ -0,0 +1,21 @@
+package com.dev.currencyexchange.model;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Rates combined from all providers that answered within the refresh deadline.
+ */
+@Value
+public class AggregatedRates {
+    Map<String, Double> rates;
+    /** Provider each rate was taken from, keyed by currency code. */
+    Map<String, String> sources;
+    /** Fetch outcome per provider name, using the {@code ExchangeRateMetrics} outcome values. */
+    Map<String, String> providerOutcomes;
+
+    public boolean isEmpty() {
+        return rates.isEmpty();
+    }
+}
@@ -0,0 +1,92 @@
+package com.dev.currencyexchange.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dense N x N table of cross rates built once per snapshot. Currency codes are resolved to matrix indices
+ * through a direct-addressed table over the 26^3 possible ISO 4217 codes, so a conversion is two index
+ * computations and one array read.
+ */
+public final class CrossRateMatrix {
+    private static final int ALPHABET = 26;
+    private static final int SLOT_COUNT = ALPHABET * ALPHABET * ALPHABET;
+    private static final CrossRateMatrix EMPTY = new CrossRateMatrix(new String[0], new double[0]);
+
+    private final String[] codes;
+    private final short[] slots;
+    private final double[] crossRates;
+
+    private CrossRateMatrix(String[] codes, double[] baseRates) {
+        int size = codes.length;
+        this.codes = codes;
+        this.slots = new short[size == 0 ? 0 : SLOT_COUNT];
+        this.crossRates = new double[size * size];
+        for (int from = 0; from < size; from++) {
+            slots[slotOf(codes[from])] = (short) (from + 1);
+            for (int to = 0; to < size; to++) {
+                crossRates[from * size + to] = baseRates[to] / baseRates[from];
+            }
+        }
+    }
+
+    public static CrossRateMatrix empty() {
+        return EMPTY;
+    }
+
+    public static CrossRateMatrix of(String baseCurrency, Map<String, Double> rates) {
+        List<String> codes = new ArrayList<>(rates.size() + 1);
+        List<Double> baseRates = new ArrayList<>(rates.size() + 1);
+        if (slotOf(baseCurrency) >= 0) {
+            codes.add(baseCurrency);
+            baseRates.add(1.0);
+        }
+        rates.forEach((code, rate) -> {
+            if (!code.equals(baseCurrency) && slotOf(code) >= 0 && rate > 0 && Double.isFinite(rate)) {
+                codes.add(code);
+                baseRates.add(rate);
+            }
+        });
+        if (codes.isEmpty() || codes.size() > Short.MAX_VALUE) {
+            return EMPTY;
+        }
+        return new CrossRateMatrix(codes.toArray(String[]::new),
+                baseRates.stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+    public int size() {
+        return codes.length;
+    }
+
+    public String codeAt(int index) {
+        return codes[index];
+    }
+
+    public int indexOf(String currencyCode) {
+        if (slots.length == 0) {
+            return -1;
+        }
+        int slot = slotOf(currencyCode);
+        return slot < 0 ? -1 : slots[slot] - 1;
+    }
+
+    public double rate(int fromIndex, int toIndex) {
+        return crossRates[fromIndex * codes.length + toIndex];
+    }
+
+    private static int slotOf(String currencyCode) {
+        if (currencyCode == null || currencyCode.length() != 3) {
+            return -1;
+        }
+        int slot = 0;
+        for (int i = 0; i < 3; i++) {
+            int letter = currencyCode.charAt(i) - 'A';
+            if (letter < 0 || letter >= ALPHABET) {
+                return -1;
+            }
+            slot = slot * ALPHABET + letter;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,38 @@
+package com.dev.currencyexchange.model;
+
+import com.dev.currencyexchange.dto.CurrencyDto;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Immutable view of the registered currencies, rebuilt only when the catalog changes.
+ */
+@Getter
+@ToString(exclude = {"currencies", "currencyCodes", "body"})
+public final class CurrencyCatalog {
+
+    private final long version;
+    private final List<CurrencyDto> currencies;
+    private final List<String> currencyCodes;
+    private final byte[] body;
+    /** Quoted HTTP entity tag derived from the catalog content, so it is the same on every instance. */
+    private final String entityTag;
+
+    public CurrencyCatalog(long version, List<CurrencyDto> currencies) {
+        this(version, currencies, null);
+    }
+
+    public CurrencyCatalog(long version, List<CurrencyDto> currencies, byte[] body) {
+        this.version = version;
+        this.currencies = List.copyOf(currencies);
+        this.currencyCodes = this.currencies.stream().map(CurrencyDto::getCode).toList();
+        this.body = body;
+        this.entityTag = "\"" + Integer.toHexString(this.currencies.hashCode()) + "-" + this.currencies.size() + "\"";
+    }
+
+    public boolean isEmpty() {
+        return currencies.isEmpty();
+    }
+}
@@ -0,0 +1,99 @@
+package com.dev.currencyexchange.model;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Rate changes of one currency in two parallel primitive arrays sorted by time, so the rate in effect at an instant
+ * is a binary search over epoch milliseconds. Consecutive equal rates are collapsed, mirroring the delta history.
+ * <p>
+ * An instance is immutable for its readers: appending writes past {@code size} and returns a new instance that may
+ * share the arrays. Appends must therefore go to the newest timeline only, from one thread at a time, and the new
+ * instance must be published safely.
+ */
+public final class RateTimeline {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final RateTimeline EMPTY = new RateTimeline(new long[0], new double[0], 0);
+
+    private final long[] timestamps;
+    private final double[] rates;
+    private final int size;
+
+    private RateTimeline(long[] timestamps, double[] rates, int size) {
+        this.timestamps = timestamps;
+        this.rates = rates;
+        this.size = size;
+    }
+
+    public static RateTimeline empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the index of the last change at or before {@code at}, or -1 if the first change is later.
+     */
+    public int indexAt(Instant at) {
+        int index = Arrays.binarySearch(timestamps, 0, size, at.toEpochMilli());
+        if (index >= 0) {
+            // Timestamps are strictly increasing, so an exact hit is unique.
+            return index;
+        }
+        return -index - 2;
+    }
+
+    public Instant timestampAt(int index) {
+        return Instant.ofEpochMilli(timestamps[index]);
+    }
+
+    public double rateAt(int index) {
+        return rates[index];
+    }
+
+    /**
+     * Returns this timeline extended by a rate observed at {@code at}, or this timeline when the rate is unchanged
+     * or not newer than the last change.
+     */
+    public RateTimeline append(Instant at, double rate) {
+        long timestamp = at.toEpochMilli();
+        if (size > 0 && (timestamp <= timestamps[size - 1] || rates[size - 1] == rate)) {
+            return this;
+        }
+        long[] newTimestamps = timestamps;
+        double[] newRates = rates;
+        if (size == timestamps.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            newTimestamps = Arrays.copyOf(timestamps, capacity);
+            newRates = Arrays.copyOf(rates, capacity);
+        }
+        newTimestamps[size] = timestamp;
+        newRates[size] = rate;
+        return new RateTimeline(newTimestamps, newRates, size + 1);
+    }
+
+    /**
+     * Collects rates in ascending time order, for example while streaming them from the database.
+     */
+    public static final class Builder {
+        private RateTimeline timeline = EMPTY;
+
+        private Builder() {
+        }
+
+        public Builder add(Instant at, double rate) {
+            timeline = timeline.append(at, rate);
+            return this;
+        }
+
+        public RateTimeline build() {
+            return timeline;
+        }
+    }
+}
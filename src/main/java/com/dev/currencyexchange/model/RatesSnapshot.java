@@ -0,0 +1,179 @@
+package com.dev.currencyexchange.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Immutable generation of exchange rates. A new instance is published on every successful refresh,
+ * so readers holding a reference always see one consistent set of rates.
+ */
+@Getter
+@ToString(exclude = {"rates", "sources", "crossRates", "rateBodies", "allRatesBody", "crossRatesBodies"})
+public final class RatesSnapshot {
+
+    private final long version;
+    private final String baseCurrency;
+    private final Instant fetchedAt;
+    private final Map<String, Double> rates;
+    private final Map<String, String> sources;
+    private final CrossRateMatrix crossRates;
+    private final Map<String, byte[]> rateBodies;
+    private final byte[] allRatesBody;
+    /** True for a snapshot restored from history or the local snapshot file at startup, until a fresh fetch lands. */
+    private final boolean restored;
+    /** Quoted HTTP entity tag of this generation, or {@code null} while nothing has been fetched yet. */
+    private final String entityTag;
+    /** All-rates bodies for other bases, serialized on first request and dropped with the generation. */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, byte[]> crossRatesBodies = new ConcurrentHashMap<>();
+
+    public RatesSnapshot(long version, String baseCurrency, Instant fetchedAt, Map<String, Double> rates) {
+        this(version, baseCurrency, fetchedAt, rates, Map.of());
+    }
+
+    /**
+     * @param sources name of the provider each rate was taken from, keyed by currency code
+     */
+    public RatesSnapshot(long version, String baseCurrency, Instant fetchedAt, Map<String, Double> rates,
+                         Map<String, String> sources) {
+        this.version = version;
+        this.baseCurrency = baseCurrency;
+        this.fetchedAt = fetchedAt;
+        this.rates = copyRates(rates);
+        this.sources = sources == null ? Map.of() : Map.copyOf(sources);
+        this.crossRates = this.rates.isEmpty() ? CrossRateMatrix.empty() : CrossRateMatrix.of(baseCurrency, this.rates);
+        this.rateBodies = Map.of();
+        this.allRatesBody = null;
+        this.restored = false;
+        this.entityTag = entityTag(baseCurrency, fetchedAt, false);
+    }
+
+    private RatesSnapshot(RatesSnapshot source, Map<String, byte[]> rateBodies, byte[] allRatesBody,
+                          boolean restored) {
+        this.version = source.version;
+        this.baseCurrency = source.baseCurrency;
+        this.fetchedAt = source.fetchedAt;
+        this.rates = source.rates;
+        this.sources = source.sources;
+        this.crossRates = source.crossRates;
+        this.rateBodies = Map.copyOf(rateBodies);
+        this.allRatesBody = allRatesBody;
+        this.restored = restored;
+        this.entityTag = entityTag(source.baseCurrency, source.fetchedAt, restored);
+    }
+
+    public static RatesSnapshot empty(String baseCurrency) {
+        return new RatesSnapshot(0L, baseCurrency, null, Map.of());
+    }
+
+    public Double getRate(String currencyCode) {
+        return currencyCode == null ? null : rates.get(currencyCode);
+    }
+
+    /**
+     * Returns the rate of {@code currencyCode} quoted against {@code baseCurrency}, triangulated through the cross
+     * rate matrix when it differs from the fetched base. A {@code null} base means the fetched base.
+     */
+    public Double getRate(String baseCurrency, String currencyCode) {
+        if (isFetchedBase(baseCurrency)) {
+            return getRate(currencyCode);
+        }
+        int fromIndex = crossRates.indexOf(baseCurrency);
+        int toIndex = crossRates.indexOf(currencyCode);
+        return fromIndex < 0 || toIndex < 0 ? null : crossRates.rate(fromIndex, toIndex);
+    }
+
+    public boolean isFetchedBase(String currencyCode) {
+        return currencyCode == null || currencyCode.equals(baseCurrency);
+    }
+
+    public String getSource(String currencyCode) {
+        return currencyCode == null ? null : sources.get(currencyCode);
+    }
+
+    /**
+     * Returns a copy of this snapshot carrying pre-serialized JSON response bodies, so that read endpoints can
+     * write bytes instead of running the serializer on every request.
+     */
+    public RatesSnapshot withResponseBodies(Map<String, byte[]> rateBodies, byte[] allRatesBody) {
+        return new RatesSnapshot(this, rateBodies, allRatesBody, restored);
+    }
+
+    /**
+     * Returns a copy of this snapshot marked as restored rather than freshly fetched.
+     */
+    public RatesSnapshot asRestored() {
+        return new RatesSnapshot(this, rateBodies, allRatesBody, true);
+    }
+
+    /**
+     * Returns the rates of this snapshot that are new or differ from {@code previous}.
+     */
+    public Map<String, Double> changedRates(RatesSnapshot previous) {
+        Map<String, Double> changed = new HashMap<>();
+        rates.forEach((currencyCode, rate) -> {
+            if (!rate.equals(previous.getRate(currencyCode))) {
+                changed.put(currencyCode, rate);
+            }
+        });
+        return changed;
+    }
+
+    /**
+     * Returns whether {@code previous} quoted a currency that this snapshot no longer has.
+     */
+    public boolean dropsRatesOf(RatesSnapshot previous) {
+        return !rates.keySet().containsAll(previous.getRates().keySet());
+    }
+
+    /**
+     * Returns the all-rates body quoted against {@code baseCurrency}. Bodies for other bases than the fetched one
+     * are built with {@code serializer} on first use and kept for the lifetime of this snapshot. Returns
+     * {@code null} for a base this snapshot has no rate for, or when no body could be built.
+     */
+    public byte[] getAllRatesBody(String baseCurrency, Function<String, byte[]> serializer) {
+        if (isFetchedBase(baseCurrency)) {
+            return allRatesBody;
+        }
+        if (crossRates.indexOf(baseCurrency) < 0) {
+            return null;
+        }
+        return crossRatesBodies.computeIfAbsent(baseCurrency, serializer);
+    }
+
+    public byte[] getRateBody(String currencyCode) {
+        return currencyCode == null ? null : rateBodies.get(currencyCode);
+    }
+
+    public boolean isEmpty() {
+        return rates.isEmpty();
+    }
+
+    // Derived from the fetch time rather than the version, which restarts at 1 on every instance.
+    private static String entityTag(String baseCurrency, Instant fetchedAt, boolean restored) {
+        if (fetchedAt == null) {
+            return null;
+        }
+        return "\"" + baseCurrency + "-" + fetchedAt.toEpochMilli() + (restored ? "-restored" : "") + "\"";
+    }
+
+    private static Map<String, Double> copyRates(Map<String, Double> rates) {
+        if (rates == null || rates.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Double> copy = new HashMap<>(rates.size());
+        rates.forEach((code, rate) -> {
+            if (code != null && rate != null) {
+                copy.put(code, rate);
+            }
+        });
+        return Map.copyOf(copy);
+    }
+}
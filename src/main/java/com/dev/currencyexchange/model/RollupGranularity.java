@@ -0,0 +1,40 @@
+package com.dev.currencyexchange.model;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Bucket sizes of the rate rollups. Buckets are aligned to UTC; weeks start on Monday as in ISO 8601.
+ */
+public enum RollupGranularity {
+    MINUTE(Duration.ofDays(1)),
+    HOUR(Duration.ofDays(7)),
+    DAY(Duration.ofDays(90)),
+    WEEK(Duration.ofDays(728));
+
+    private final Duration defaultRange;
+
+    RollupGranularity(Duration defaultRange) {
+        this.defaultRange = defaultRange;
+    }
+
+    public Duration getDefaultRange() {
+        return defaultRange;
+    }
+
+    public Instant bucketStart(Instant instant) {
+        return switch (this) {
+            case MINUTE -> instant.truncatedTo(ChronoUnit.MINUTES);
+            case HOUR -> instant.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> instant.truncatedTo(ChronoUnit.DAYS);
+            case WEEK -> instant.atOffset(ZoneOffset.UTC)
+                    .truncatedTo(ChronoUnit.DAYS)
+                    .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    .toInstant();
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.dev.currencyexchange.ratelimit;
+
+import com.dev.currencyexchange.config.RateLimitProperties;
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Holds one {@link TokenBucket} per client. Buckets live in a {@link ConcurrentHashMap}, so lookups of different
+ * clients do not contend, and taking a token is a single compare-and-set on the client's own bucket. Memory is
+ * bounded by {@code rate-limit.max-clients}: idle buckets are evicted periodically and on demand, and clients that
+ * arrive while the map is still full share one overflow bucket. On-demand eviction scans every bucket, so it runs at
+ * most once per {@code rate-limit.on-demand-eviction-interval}; a flood of new clients cannot turn each request into
+ * a full scan.
+ */
+public class ClientRateLimiter {
+    private static final Logger LOG = LoggerFactory.getLogger(ClientRateLimiter.class);
+
+    private final RateLimitProperties properties;
+    private final LongSupplier nanoClock;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflowBucket;
+    private final AtomicLong lastOnDemandEviction;
+
+    public ClientRateLimiter(RateLimitProperties properties, ExchangeRateMetrics exchangeRateMetrics) {
+        this(properties, exchangeRateMetrics, System::nanoTime);
+    }
+
+    ClientRateLimiter(RateLimitProperties properties, ExchangeRateMetrics exchangeRateMetrics,
+                      LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        this.overflowBucket = new TokenBucket(properties.defaultQuota(), now);
+        this.lastOnDemandEviction = new AtomicLong(now - properties.getOnDemandEvictionInterval().toNanos());
+        exchangeRateMetrics.registerRateLimitClients(buckets);
+    }
+
+    /**
+     * Takes one token from the bucket of {@code clientKey}, creating it with {@code quota} on first use. Returns
+     * {@code 0} when the request may proceed, otherwise the nanoseconds until the client may retry.
+     */
+    public long tryAcquire(String clientKey, RateLimitProperties.Quota quota) {
+        long now = nanoClock.getAsLong();
+        TokenBucket bucket = buckets.get(clientKey);
+        if (bucket == null) {
+            bucket = createBucket(clientKey, quota, now);
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    private TokenBucket createBucket(String clientKey, RateLimitProperties.Quota quota, long now) {
+        if (buckets.size() >= properties.getMaxClients()) {
+            if (claimOnDemandEviction(now)) {
+                evictIdleBuckets();
+            }
+            if (buckets.size() >= properties.getMaxClients()) {
+                LOG.debug("Rate limiter tracks {} clients, {} shares the overflow bucket", buckets.size(), clientKey);
+                return overflowBucket;
+            }
+        }
+        return buckets.computeIfAbsent(clientKey, key -> new TokenBucket(quota, now));
+    }
+
+    private boolean claimOnDemandEviction(long now) {
+        long last = lastOnDemandEviction.get();
+        // Only the request that wins the compare-and-set scans; the others go on with the overflow bucket.
+        return now - last >= properties.getOnDemandEvictionInterval().toNanos()
+                && lastOnDemandEviction.compareAndSet(last, now);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval:60000}")
+    public void evictIdleBuckets() {
+        long now = nanoClock.getAsLong();
+        long idleNanos = properties.getIdleEviction().toNanos();
+        // An idle bucket is full again, so a client evicted here starts over exactly where it would have been.
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+    }
+
+    public int getClientCount() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,63 @@
+package com.dev.currencyexchange.ratelimit;
+
+import com.dev.currencyexchange.config.RateLimitProperties;
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests of clients that exhausted their quota with {@code 429 Too Many Requests} and a
+ * {@code Retry-After} header. Clients sending a configured API key get that key's quota; everybody else is limited
+ * per remote address with the default quota. Behind a trusted proxy the remote address is the client's from
+ * {@code X-Forwarded-For}, see {@code server.forward-headers-strategy} in the configuration.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    static final String CLIENT_TYPE_API_KEY = "api_key";
+    static final String CLIENT_TYPE_IP = "ip";
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ClientRateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ExchangeRateMetrics exchangeRateMetrics;
+    private final RateLimitProperties.Quota defaultQuota;
+
+    public RateLimitFilter(ClientRateLimiter rateLimiter, RateLimitProperties properties,
+                           ExchangeRateMetrics exchangeRateMetrics) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.exchangeRateMetrics = exchangeRateMetrics;
+        this.defaultQuota = properties.defaultQuota();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String apiKey = request.getHeader(properties.getApiKeyHeader());
+        RateLimitProperties.Quota quota = apiKey == null ? null : properties.getClients().get(apiKey);
+        boolean keyed = quota != null;
+
+        long waitNanos = keyed
+                ? rateLimiter.tryAcquire("key:" + apiKey, quota)
+                : rateLimiter.tryAcquire("ip:" + request.getRemoteAddr(), defaultQuota);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        exchangeRateMetrics.recordThrottled(keyed ? CLIENT_TYPE_API_KEY : CLIENT_TYPE_IP);
+        long retryAfterSeconds = Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests, retry after " + retryAfterSeconds + " s\"}");
+    }
+}
@@ -0,0 +1,46 @@
+package com.dev.currencyexchange.ratelimit;
+
+import com.dev.currencyexchange.config.RateLimitProperties;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its generic cell rate algorithm form: the whole state is the theoretical arrival time
+ * of the next request, updated with a single compare-and-set. A bucket whose arrival time lies in the past is full,
+ * so dropping it after a period of inactivity loses no state.
+ */
+final class TokenBucket {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    TokenBucket(RateLimitProperties.Quota quota, long nowNanos) {
+        if (quota.getCapacity() < 1 || !(quota.getRefillPerSecond() > 0)) {
+            throw new IllegalArgumentException("Rate limit quota needs a positive capacity and refill rate: " + quota);
+        }
+        this.emissionIntervalNanos = Math.max(1L, Math.round(1_000_000_000L / quota.getRefillPerSecond()));
+        this.burstToleranceNanos = (quota.getCapacity() - 1) * emissionIntervalNanos;
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token. Returns {@code 0} on success, otherwise the nanoseconds until a token becomes available.
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrivalNanos.get();
+            long start = arrival - nowNanos > 0 ? arrival : nowNanos;
+            long waitNanos = start - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(arrival, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - theoreticalArrivalNanos.get() >= idleNanos;
+    }
+}
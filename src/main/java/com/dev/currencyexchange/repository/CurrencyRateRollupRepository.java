@@ -0,0 +1,16 @@
+package com.dev.currencyexchange.repository;
+
+import com.dev.currencyexchange.entity.CurrencyRateRollup;
+import com.dev.currencyexchange.model.RollupGranularity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface CurrencyRateRollupRepository extends JpaRepository<CurrencyRateRollup, CurrencyRateRollup.Key>,
+        CurrencyRateRollupRepositoryCustom {
+
+    List<CurrencyRateRollup> findByCurrencyCodeAndGranularityAndBucketStartBetweenOrderByBucketStartAsc(
+            String currencyCode, RollupGranularity granularity, Instant from, Instant to, Limit limit);
+}
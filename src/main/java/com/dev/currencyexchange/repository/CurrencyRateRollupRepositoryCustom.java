@@ -0,0 +1,14 @@
+package com.dev.currencyexchange.repository;
+
+import com.dev.currencyexchange.entity.CurrencyRateLog;
+
+import java.util.List;
+
+public interface CurrencyRateRollupRepositoryCustom {
+
+    /**
+     * Folds every rate sample into its minute, hour, day and week buckets in a single JDBC batch. A sample no newer
+     * than the last one folded into a bucket is skipped, so a batch can be retried after a transient failure.
+     */
+    int saveRollups(List<CurrencyRateLog> samples);
+}
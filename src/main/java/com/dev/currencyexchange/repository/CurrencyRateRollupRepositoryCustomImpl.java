@@ -0,0 +1,53 @@
+package com.dev.currencyexchange.repository;
+
+import com.dev.currencyexchange.entity.CurrencyRateLog;
+import com.dev.currencyexchange.model.RollupGranularity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class CurrencyRateRollupRepositoryCustomImpl implements CurrencyRateRollupRepositoryCustom {
+    private static final String UPSERT_SQL = """
+            INSERT INTO currency_rate_rollup AS rollup (currency_code, granularity, bucket_start, base_currency,
+                                                        open, high, low, close, rate_sum, sample_count,
+                                                        open_at, close_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 1, ?, ?)
+            ON CONFLICT (currency_code, granularity, bucket_start) DO UPDATE
+            SET high = GREATEST(rollup.high, EXCLUDED.high),
+                low = LEAST(rollup.low, EXCLUDED.low),
+                close = EXCLUDED.close,
+                close_at = EXCLUDED.close_at,
+                rate_sum = rollup.rate_sum + EXCLUDED.rate_sum,
+                sample_count = rollup.sample_count + 1
+            WHERE rollup.close_at < EXCLUDED.close_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int saveRollups(List<CurrencyRateLog> samples) {
+        if (samples.isEmpty()) {
+            return 0;
+        }
+        RollupGranularity[] granularities = RollupGranularity.values();
+        List<Object[]> rows = new ArrayList<>(samples.size() * granularities.length);
+        for (CurrencyRateLog sample : samples) {
+            OffsetDateTime fetchedAt = sample.getFetchedAt().atOffset(ZoneOffset.UTC);
+            double rate = sample.getRate();
+            for (RollupGranularity granularity : granularities) {
+                rows.add(new Object[]{sample.getCurrencyCode(), granularity.name(),
+                        granularity.bucketStart(sample.getFetchedAt()).atOffset(ZoneOffset.UTC),
+                        sample.getBaseCurrency(), rate, rate, rate, rate, rate, fetchedAt, fetchedAt});
+            }
+        }
+
+        int[] updateCounts = jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        return Arrays.stream(updateCounts).map(count -> Math.max(count, 0)).sum();
+    }
+}
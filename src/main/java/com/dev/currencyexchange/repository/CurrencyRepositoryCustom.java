@@ -0,0 +1,23 @@
+package com.dev.currencyexchange.repository;
+
+import com.dev.currencyexchange.dto.CurrencyDto;
+
+import java.util.List;
+
+public interface CurrencyRepositoryCustom {
+
+    /**
+     * Inserts all currencies in one JDBC batch, skipping codes that already exist.
+     *
+     * @return for every input currency, whether a new row was inserted
+     */
+    boolean[] insertMissing(List<CurrencyDto> currencies);
+
+    /**
+     * Advances the stored catalog version. Call it in the transaction that changes the currencies, so other replicas
+     * reload their catalog once the change is committed.
+     */
+    void incrementCatalogVersion();
+
+    long findCatalogVersion();
+}
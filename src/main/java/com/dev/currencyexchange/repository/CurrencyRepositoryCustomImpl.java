@@ -0,0 +1,55 @@
+package com.dev.currencyexchange.repository;
+
+import com.dev.currencyexchange.dto.CurrencyDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class CurrencyRepositoryCustomImpl implements CurrencyRepositoryCustom {
+    // id comes from the column default, which draws from the same currency_seq that Hibernate allocates from.
+    private static final String INSERT_SQL = """
+            INSERT INTO currency (code, name)
+            VALUES (?, ?)
+            ON CONFLICT (code) DO NOTHING
+            """;
+
+    private static final String INCREMENT_CATALOG_VERSION_SQL = """
+            UPDATE currency_catalog_version SET version = version + 1 WHERE id = 1
+            """;
+
+    private static final String CATALOG_VERSION_SQL = """
+            SELECT version FROM currency_catalog_version WHERE id = 1
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean[] insertMissing(List<CurrencyDto> currencies) {
+        boolean[] inserted = new boolean[currencies.size()];
+        if (currencies.isEmpty()) {
+            return inserted;
+        }
+        List<Object[]> rows = new ArrayList<>(currencies.size());
+        currencies.forEach(currency -> rows.add(new Object[]{currency.getCode(), currency.getName()}));
+
+        int[] updateCounts = jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        for (int i = 0; i < updateCounts.length; i++) {
+            inserted[i] = updateCounts[i] != 0;
+        }
+        return inserted;
+    }
+
+    @Override
+    public void incrementCatalogVersion() {
+        jdbcTemplate.update(INCREMENT_CATALOG_VERSION_SQL);
+    }
+
+    @Override
+    public long findCatalogVersion() {
+        Long version = jdbcTemplate.queryForObject(CATALOG_VERSION_SQL, Long.class);
+        return version == null ? 0L : version;
+    }
+}
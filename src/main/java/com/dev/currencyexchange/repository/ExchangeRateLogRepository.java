@@ -1,7 +1,17 @@
 package com.dev.currencyexchange.repository;
 
 import com.dev.currencyexchange.entity.CurrencyRateLog;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface ExchangeRateLogRepository extends JpaRepository<CurrencyRateLog, Long> {
+import java.time.Instant;
+import java.util.List;
+
+public interface ExchangeRateLogRepository extends JpaRepository<CurrencyRateLog, CurrencyRateLog.Key>,
+        ExchangeRateLogRepositoryCustom {
+
+    List<CurrencyRateLog> findByCurrencyCodeAndFetchedAtBetweenOrderByFetchedAtAsc(String currencyCode,
+                                                                                  Instant from,
+                                                                                  Instant to,
+                                                                                  Limit limit);
 }
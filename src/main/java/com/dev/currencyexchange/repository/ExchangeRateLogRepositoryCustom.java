@@ -0,0 +1,39 @@
+package com.dev.currencyexchange.repository;
+
+import com.dev.currencyexchange.entity.CurrencyRateLog;
+import com.dev.currencyexchange.model.RateTimeline;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface ExchangeRateLogRepositoryCustom {
+
+    /**
+     * Stores rate rows of one or more refreshes in a single JDBC batch. Rows already stored are skipped, so a batch
+     * can be retried after a transient failure.
+     */
+    int saveRateLogs(List<CurrencyRateLog> rateLogs);
+
+    /**
+     * Returns the most recent stored rate of every currency quoted against {@code baseCurrency}, rebuilt from the
+     * latest checkpoint taken since {@code since} plus the deltas stored after it.
+     */
+    List<CurrencyRateLog> findLatestRates(String baseCurrency, Instant since);
+
+    /**
+     * Returns every rate quoted against {@code baseCurrency} as it was at {@code at}, rebuilt from the latest
+     * checkpoint at or before {@code at} plus the deltas stored up to {@code at}.
+     */
+    List<CurrencyRateLog> findRatesAt(String baseCurrency, Instant at);
+
+    /**
+     * Returns the stored rate of {@code currencyCode} that was in effect at {@code at}, if the currency was quoted.
+     */
+    Optional<CurrencyRateLog> findRateAt(String currencyCode, Instant at);
+
+    /**
+     * Returns every stored rate change of {@code currencyCode} quoted against {@code baseCurrency}, oldest first.
+     */
+    RateTimeline findTimeline(String currencyCode, String baseCurrency);
+}
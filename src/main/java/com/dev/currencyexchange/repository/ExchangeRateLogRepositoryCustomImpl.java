@@ -0,0 +1,115 @@
+package com.dev.currencyexchange.repository;
+
+import com.dev.currencyexchange.entity.CurrencyRateLog;
+import com.dev.currencyexchange.model.RateTimeline;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class ExchangeRateLogRepositoryCustomImpl implements ExchangeRateLogRepositoryCustom {
+    private static final String INSERT_SQL = """
+            INSERT INTO currency_rate_log (currency_code, fetched_at, base_currency, rate, provider, checkpoint)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (currency_code, fetched_at) DO NOTHING
+            """;
+
+    // Rows of the latest checkpoint in [since, at] plus the deltas after it, reduced to the newest row per currency.
+    private static final String RATES_AT_SQL = """
+            SELECT DISTINCT ON (log.currency_code)
+                   log.currency_code, log.fetched_at, log.base_currency, log.rate, log.provider, log.checkpoint
+            FROM currency_rate_log log
+            JOIN (SELECT MAX(fetched_at) AS fetched_at
+                  FROM currency_rate_log
+                  WHERE base_currency = ? AND checkpoint AND fetched_at >= ? AND fetched_at <= ?) latest
+              ON log.fetched_at >= latest.fetched_at
+            WHERE log.base_currency = ? AND log.fetched_at <= ?
+            ORDER BY log.currency_code, log.fetched_at DESC
+            """;
+
+    private static final String RATE_AT_SQL = """
+            SELECT log.currency_code, log.fetched_at, log.base_currency, log.rate, log.provider, log.checkpoint
+            FROM currency_rate_log log
+            WHERE log.currency_code = ? AND log.fetched_at <= ?
+              AND log.fetched_at >= (SELECT MAX(fetched_at)
+                                     FROM currency_rate_log
+                                     WHERE base_currency = log.base_currency AND checkpoint AND fetched_at <= ?)
+            ORDER BY log.fetched_at DESC
+            LIMIT 1
+            """;
+
+    private static final String TIMELINE_SQL = """
+            SELECT fetched_at, rate
+            FROM currency_rate_log
+            WHERE currency_code = ? AND base_currency = ?
+            ORDER BY fetched_at
+            """;
+
+    private static final RowMapper<CurrencyRateLog> ROW_MAPPER = (resultSet, rowNum) -> CurrencyRateLog.builder()
+            .currencyCode(resultSet.getString("currency_code"))
+            .fetchedAt(resultSet.getObject("fetched_at", OffsetDateTime.class).toInstant())
+            .baseCurrency(resultSet.getString("base_currency"))
+            .rate(resultSet.getDouble("rate"))
+            .provider(resultSet.getString("provider"))
+            .checkpoint(resultSet.getBoolean("checkpoint"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int saveRateLogs(List<CurrencyRateLog> rateLogs) {
+        if (rateLogs.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> rows = new ArrayList<>(rateLogs.size());
+        for (CurrencyRateLog rateLog : rateLogs) {
+            rows.add(new Object[]{rateLog.getCurrencyCode(), rateLog.getFetchedAt().atOffset(ZoneOffset.UTC),
+                    rateLog.getBaseCurrency(), rateLog.getRate(), rateLog.getProvider(), rateLog.isCheckpoint()});
+        }
+
+        int[] updateCounts = jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        return Arrays.stream(updateCounts).map(count -> Math.max(count, 0)).sum();
+    }
+
+    @Override
+    public List<CurrencyRateLog> findLatestRates(String baseCurrency, Instant since) {
+        return rebuild(baseCurrency, since, Instant.now());
+    }
+
+    @Override
+    public List<CurrencyRateLog> findRatesAt(String baseCurrency, Instant at) {
+        return rebuild(baseCurrency, Instant.EPOCH, at);
+    }
+
+    @Override
+    public Optional<CurrencyRateLog> findRateAt(String currencyCode, Instant at) {
+        OffsetDateTime timestamp = at.atOffset(ZoneOffset.UTC);
+        return jdbcTemplate.query(RATE_AT_SQL, ROW_MAPPER, currencyCode, timestamp, timestamp).stream().findFirst();
+    }
+
+    @Override
+    public RateTimeline findTimeline(String currencyCode, String baseCurrency) {
+        // Rows go straight into the primitive arrays instead of being mapped to entities first.
+        RateTimeline.Builder timeline = RateTimeline.builder();
+        jdbcTemplate.query(TIMELINE_SQL, (RowCallbackHandler) resultSet -> timeline.add(
+                resultSet.getObject("fetched_at", OffsetDateTime.class).toInstant(), resultSet.getDouble("rate")),
+                currencyCode, baseCurrency);
+        return timeline.build();
+    }
+
+    private List<CurrencyRateLog> rebuild(String baseCurrency, Instant since, Instant at) {
+        OffsetDateTime lowerBound = since.atOffset(ZoneOffset.UTC);
+        OffsetDateTime upperBound = at.atOffset(ZoneOffset.UTC);
+        return jdbcTemplate.query(RATES_AT_SQL, ROW_MAPPER,
+                baseCurrency, lowerBound, upperBound, baseCurrency, upperBound);
+    }
+}
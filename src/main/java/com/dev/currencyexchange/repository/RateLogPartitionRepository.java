@@ -0,0 +1,36 @@
+package com.dev.currencyexchange.repository;
+
+import java.io.OutputStream;
+import java.time.YearMonth;
+import java.util.List;
+
+public interface RateLogPartitionRepository {
+
+    /**
+     * Returns the months that have their own partition of {@code currency_rate_log}, oldest first.
+     */
+    List<YearMonth> findPartitionMonths();
+
+    /**
+     * Creates the partition of {@code month}, moving rows that already landed in the default partition into it.
+     */
+    void createPartition(YearMonth month);
+
+    /**
+     * Writes the rows of the partition of {@code month} as CSV with a header row.
+     *
+     * @return the number of rows written
+     */
+    long exportPartition(YearMonth month, OutputStream output);
+
+    /**
+     * Detaches the partition of {@code month}; it stays behind as a standalone table of the same name.
+     */
+    void detachPartition(YearMonth month);
+
+    void dropPartition(YearMonth month);
+
+    static String partitionName(YearMonth month) {
+        return String.format("currency_rate_log_p%04d_%02d", month.getYear(), month.getMonthValue());
+    }
+}
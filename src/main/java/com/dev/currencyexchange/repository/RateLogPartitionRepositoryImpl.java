@@ -0,0 +1,94 @@
+package com.dev.currencyexchange.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.dev.currencyexchange.repository.RateLogPartitionRepository.partitionName;
+
+/**
+ * Partition DDL cannot take bind parameters, so table names and bounds are formatted into the statements. Both are
+ * derived from a {@link YearMonth} only, never from user input.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RateLogPartitionRepositoryImpl implements RateLogPartitionRepository {
+    private static final Pattern PARTITION_NAME = Pattern.compile("currency_rate_log_p(\\d{4})_(\\d{2})");
+
+    private static final String PARTITIONS_SQL = """
+            SELECT child.relname
+            FROM pg_inherits
+            JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+            JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+            WHERE parent.relname = 'currency_rate_log'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<YearMonth> findPartitionMonths() {
+        return jdbcTemplate.queryForList(PARTITIONS_SQL, String.class).stream()
+                .map(PARTITION_NAME::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))))
+                .sorted()
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void createPartition(YearMonth month) {
+        String name = partitionName(month);
+        String from = lowerBound(month);
+        String to = lowerBound(month.plusMonths(1));
+        // Attaching fails while the default partition holds rows of the new range, so they are moved first.
+        jdbcTemplate.execute("CREATE TABLE " + name
+                + " (LIKE currency_rate_log INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        jdbcTemplate.update("INSERT INTO " + name + " SELECT * FROM currency_rate_log_default"
+                + " WHERE fetched_at >= '" + from + "' AND fetched_at < '" + to + "'");
+        jdbcTemplate.update("DELETE FROM currency_rate_log_default"
+                + " WHERE fetched_at >= '" + from + "' AND fetched_at < '" + to + "'");
+        jdbcTemplate.execute("ALTER TABLE currency_rate_log ATTACH PARTITION " + name
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+
+    @Override
+    public long exportPartition(YearMonth month, OutputStream output) {
+        String copySql = "COPY " + partitionName(month) + " TO STDOUT (FORMAT csv, HEADER)";
+        Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyOut(copySql, output);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return Objects.requireNonNull(rows);
+    }
+
+    @Override
+    public void detachPartition(YearMonth month) {
+        jdbcTemplate.execute("ALTER TABLE currency_rate_log DETACH PARTITION " + partitionName(month));
+    }
+
+    @Override
+    public void dropPartition(YearMonth month) {
+        jdbcTemplate.execute("DROP TABLE " + partitionName(month));
+    }
+
+    private static String lowerBound(YearMonth month) {
+        return month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+    }
+}
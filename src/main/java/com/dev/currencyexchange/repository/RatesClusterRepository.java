@@ -0,0 +1,33 @@
+package com.dev.currencyexchange.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+public interface RatesClusterRepository {
+
+    /**
+     * Takes or renews the lease for {@code holder}, measured on the database clock.
+     *
+     * @return whether {@code holder} holds the lease afterwards
+     */
+    boolean tryAcquireLease(String leaseName, String holder, Duration duration);
+
+    void releaseLease(String leaseName, String holder);
+
+    /**
+     * Stores the current generation of {@code baseCurrency}, but only while {@code holder} still holds the lease, so
+     * a replica that lost it during a pause cannot overwrite the new leader's rates. The stored version is at least
+     * one above the previous generation.
+     *
+     * @return the stored version, or empty if {@code holder} no longer holds the lease
+     */
+    OptionalLong saveGeneration(String leaseName, String holder, String baseCurrency, long version, Instant fetchedAt,
+                                String payload);
+
+    Optional<RatesGeneration> findGenerationNewerThan(String baseCurrency, long version);
+
+    record RatesGeneration(long version, Instant fetchedAt, String payload, String publishedBy) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.dev.currencyexchange.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+@Repository
+@RequiredArgsConstructor
+public class RatesClusterRepositoryImpl implements RatesClusterRepository {
+    private static final String ACQUIRE_LEASE_SQL = """
+            INSERT INTO rates_fetch_lease (name, holder, expires_at)
+            VALUES (?, ?, now() + ? * INTERVAL '1 millisecond')
+            ON CONFLICT (name) DO UPDATE SET holder = EXCLUDED.holder, expires_at = EXCLUDED.expires_at
+            WHERE rates_fetch_lease.holder = EXCLUDED.holder OR rates_fetch_lease.expires_at < now()
+            """;
+
+    private static final String RELEASE_LEASE_SQL = """
+            UPDATE rates_fetch_lease SET expires_at = now() - INTERVAL '1 millisecond'
+            WHERE name = ? AND holder = ?
+            """;
+
+    private static final String SAVE_GENERATION_SQL = """
+            INSERT INTO rates_generation (base_currency, version, fetched_at, payload, published_by)
+            SELECT ?, ?, ?, ?, ?
+            WHERE EXISTS (SELECT 1 FROM rates_fetch_lease WHERE name = ? AND holder = ? AND expires_at > now())
+            ON CONFLICT (base_currency) DO UPDATE
+            SET version = GREATEST(rates_generation.version + 1, EXCLUDED.version),
+                fetched_at = EXCLUDED.fetched_at,
+                payload = EXCLUDED.payload,
+                published_by = EXCLUDED.published_by
+            RETURNING version
+            """;
+
+    private static final String GENERATION_SQL = """
+            SELECT version, fetched_at, payload, published_by
+            FROM rates_generation
+            WHERE base_currency = ? AND version > ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean tryAcquireLease(String leaseName, String holder, Duration duration) {
+        return jdbcTemplate.update(ACQUIRE_LEASE_SQL, leaseName, holder, duration.toMillis()) == 1;
+    }
+
+    @Override
+    public void releaseLease(String leaseName, String holder) {
+        jdbcTemplate.update(RELEASE_LEASE_SQL, leaseName, holder);
+    }
+
+    @Override
+    public OptionalLong saveGeneration(String leaseName, String holder, String baseCurrency, long version,
+                                       Instant fetchedAt, String payload) {
+        List<Long> versions = jdbcTemplate.queryForList(SAVE_GENERATION_SQL, Long.class, baseCurrency, version,
+                fetchedAt.atOffset(ZoneOffset.UTC), payload, holder, leaseName, holder);
+        return versions.isEmpty() ? OptionalLong.empty() : OptionalLong.of(versions.get(0));
+    }
+
+    @Override
+    public Optional<RatesGeneration> findGenerationNewerThan(String baseCurrency, long version) {
+        return jdbcTemplate.query(GENERATION_SQL, (resultSet, rowNum) -> new RatesGeneration(
+                        resultSet.getLong("version"),
+                        resultSet.getObject("fetched_at", OffsetDateTime.class).toInstant(),
+                        resultSet.getString("payload"),
+                        resultSet.getString("published_by")),
+                baseCurrency, version).stream().findFirst();
+    }
+}
@@ -0,0 +1,46 @@
+package com.dev.currencyexchange.service;
+
+import com.dev.currencyexchange.model.RatesSnapshot;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface BulkConversionService {
+
+    /**
+     * Converts every {@code (from, to, amount)} line of {@code input} with the rates of {@code snapshot} and writes
+     * one result line per input line to {@code output} as it goes. Lines that cannot be converted produce an inline
+     * error line instead of failing the request.
+     */
+    Summary convert(RatesSnapshot snapshot, Format format, InputStream input, OutputStream output) throws IOException;
+
+    enum Format {
+        NDJSON(MediaType.APPLICATION_NDJSON),
+        CSV(new MediaType("text", "csv"));
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static Format of(String contentType) {
+            MediaType requested = MediaType.parseMediaType(contentType);
+            for (Format format : values()) {
+                if (format.mediaType.isCompatibleWith(requested)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported content type: " + contentType);
+        }
+    }
+
+    record Summary(long converted, long failed) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.dev.currencyexchange.service;
+
+import com.dev.currencyexchange.model.CurrencyCatalog;
+
+public interface CurrencyCatalogService {
+
+    CurrencyCatalog getCatalog();
+
+    CurrencyCatalog reload();
+
+    /**
+     * Reloads the catalog when the stored catalog version moved since the last load, for example because a currency
+     * was added through another replica. Falls back to the loaded catalog when the version cannot be read.
+     */
+    CurrencyCatalog reloadIfChanged();
+}
@@ -1,6 +1,34 @@
 package com.dev.currencyexchange.service;
 
+import com.dev.currencyexchange.model.RatesSnapshot;
+
+import java.time.Instant;
+import java.util.Map;
+
 public interface CurrencyRatesService {
 
     Double getExchangeRatesForCurrency(String currencyCode);
+
+    RatesSnapshot getSnapshot();
+
+    /**
+     * Publishes rates restored at startup, marked as restored, unless a snapshot is already being served.
+     *
+     * @return the published snapshot, or {@code null} if a snapshot was already present
+     */
+    RatesSnapshot restoreSnapshot(Map<String, Double> rates, Map<String, String> sources, Instant fetchedAt);
+
+    /**
+     * Fetches rates from the providers and publishes them, if this replica holds the fetch lease.
+     */
+    void fetchExchangeRates();
+
+    /**
+     * Publishes rates fetched by another replica under its cluster-wide {@code version}, unless the snapshot being
+     * served was fetched at the same time or later.
+     *
+     * @return the published snapshot, or {@code null} if the current snapshot is not older
+     */
+    RatesSnapshot applyReplicatedSnapshot(long version, Map<String, Double> rates, Map<String, String> sources,
+                                          Instant fetchedAt);
 }
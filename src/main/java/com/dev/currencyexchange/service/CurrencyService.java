@@ -1,6 +1,11 @@
 package com.dev.currencyexchange.service;
 
+import com.dev.currencyexchange.dto.ConversionDto;
+import com.dev.currencyexchange.dto.CurrencyBatchResultDto;
 import com.dev.currencyexchange.dto.CurrencyDto;
+import com.dev.currencyexchange.dto.ExchangeRatesDto;
+import com.dev.currencyexchange.model.CurrencyCatalog;
+import com.dev.currencyexchange.model.RatesSnapshot;
 
 import java.util.List;
 
@@ -8,7 +13,31 @@ public interface CurrencyService {
 
     List<CurrencyDto> getAllCurrencies();
 
+    CurrencyCatalog getCurrencyCatalog();
+
     CurrencyDto addCurrency(CurrencyDto currencyDto);
 
+    CurrencyBatchResultDto addCurrencies(List<CurrencyDto> currencyDtos);
+
     Double getExchangeRatesForCurrency(String currencyCode);
+
+    Double getExchangeRatesForCurrency(RatesSnapshot snapshot, String currencyCode);
+
+    byte[] getExchangeRateBody(RatesSnapshot snapshot, String currencyCode);
+
+    byte[] getExchangeRateBody(RatesSnapshot snapshot, String baseCurrency, String currencyCode);
+
+    /**
+     * Returns the pre-serialized body of all rates quoted against {@code baseCurrency}, or {@code null} when the
+     * base is unknown or no body is available.
+     */
+    byte[] getAllExchangeRatesBody(RatesSnapshot snapshot, String baseCurrency);
+
+    RatesSnapshot getRatesSnapshot();
+
+    ExchangeRatesDto getExchangeRates(List<String> currencyCodes);
+
+    ExchangeRatesDto getExchangeRates(String baseCurrency, List<String> currencyCodes);
+
+    ConversionDto convert(String fromCurrency, String toCurrency, double amount);
 }
@@ -0,0 +1,18 @@
+package com.dev.currencyexchange.service;
+
+public interface FetchLeaseService {
+
+    /**
+     * Returns whether this replica should fetch rates from the providers: it holds the fetch lease, clustering is
+     * disabled, or the lease cannot be checked because the database is unreachable. Only reads the outcome of the
+     * last {@link #renew()}, so it is cheap enough to call before every scheduled task.
+     */
+    boolean isLeader();
+
+    /**
+     * Takes or renews the fetch lease and returns the same answer as {@link #isLeader()}.
+     */
+    boolean renew();
+
+    String getNodeId();
+}
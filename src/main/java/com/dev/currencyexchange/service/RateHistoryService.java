@@ -0,0 +1,10 @@
+package com.dev.currencyexchange.service;
+
+import com.dev.currencyexchange.dto.RateHistoryDto;
+
+import java.time.Instant;
+
+public interface RateHistoryService {
+
+    RateHistoryDto getHistory(String currencyCode, Instant from, Instant to);
+}
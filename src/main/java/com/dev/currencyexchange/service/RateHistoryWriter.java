@@ -0,0 +1,14 @@
+package com.dev.currencyexchange.service;
+
+import com.dev.currencyexchange.event.RatesSnapshotPublishedEvent;
+
+public interface RateHistoryWriter {
+
+    /**
+     * Queues the history rows of a freshly published snapshot without blocking. Returns {@code false} when the
+     * queue is full and the refresh was not queued.
+     */
+    boolean enqueue(RatesSnapshotPublishedEvent event);
+
+    int getQueueSize();
+}
@@ -0,0 +1,10 @@
+package com.dev.currencyexchange.service;
+
+public interface RateLogRetentionService {
+
+    /**
+     * Creates the rate log partitions of the coming months and removes those past the retention age, exporting them
+     * first when an export directory is configured.
+     */
+    void maintainPartitions();
+}
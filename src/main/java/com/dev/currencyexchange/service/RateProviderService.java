@@ -0,0 +1,9 @@
+package com.dev.currencyexchange.service;
+
+import com.dev.currencyexchange.model.AggregatedRates;
+
+import java.util.List;
+
+public interface RateProviderService {
+    AggregatedRates fetchLatestRates(String baseCurrency, List<String> currencyCodes);
+}
@@ -0,0 +1,11 @@
+package com.dev.currencyexchange.service;
+
+import com.dev.currencyexchange.dto.RateRollupDto;
+import com.dev.currencyexchange.model.RollupGranularity;
+
+import java.time.Instant;
+
+public interface RateRollupService {
+
+    RateRollupDto getRollups(String currencyCode, RollupGranularity granularity, Instant from, Instant to);
+}
@@ -0,0 +1,12 @@
+package com.dev.currencyexchange.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+public interface RateStreamService {
+
+    SseEmitter subscribe(Set<String> currencyCodes);
+
+    int getSubscriberCount();
+}
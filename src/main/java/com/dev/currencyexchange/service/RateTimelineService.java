@@ -0,0 +1,14 @@
+package com.dev.currencyexchange.service;
+
+import com.dev.currencyexchange.dto.HistoricalRateDto;
+
+import java.time.Instant;
+
+public interface RateTimelineService {
+
+    /**
+     * Returns the rate of {@code currencyCode} that was in effect at {@code at}, quoted against
+     * {@code baseCurrency} or against the fetched base when it is {@code null}.
+     */
+    HistoricalRateDto getRateAt(String currencyCode, String baseCurrency, Instant at);
+}
@@ -0,0 +1,12 @@
+package com.dev.currencyexchange.service;
+
+public interface RatesReplicationService {
+
+    /**
+     * Renews the fetch lease and, on a replica that does not hold it, applies the newest generation stored by the
+     * leader.
+     */
+    void poll();
+
+    long getAppliedGeneration();
+}
@@ -0,0 +1,13 @@
+package com.dev.currencyexchange.service;
+
+import com.dev.currencyexchange.model.RatesSnapshot;
+
+public interface RatesWarmStartService {
+
+    /**
+     * Restores the newest persisted rates, from history or the local snapshot file, if nothing is served yet.
+     *
+     * @return the restored snapshot, or {@code null} if nothing was restored
+     */
+    RatesSnapshot warmStart();
+}
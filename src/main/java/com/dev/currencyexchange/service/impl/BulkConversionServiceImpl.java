@@ -0,0 +1,327 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import com.dev.currencyexchange.model.CrossRateMatrix;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.service.BulkConversionService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts a request body line by line against one pinned snapshot. Only the current input line and the reader and
+ * writer buffers are held in memory, and pending results are flushed whenever the client has not sent more input yet,
+ * so output keeps pace with a slow uploader without flushing after every line. Lines longer than
+ * {@code currencies.bulk.max-line-length} are skipped up to their end and reported as failed, so a body without line
+ * breaks cannot be buffered whole.
+ */
+@Service
+@RequiredArgsConstructor
+public class BulkConversionServiceImpl implements BulkConversionService {
+    static final String CSV_HEADER = "line,from,to,amount,rate,result,error";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final ExchangeRateMetrics exchangeRateMetrics;
+
+    @Value("${currencies.bulk.max-line-length:1024}")
+    private int maxLineLength;
+
+    @Override
+    public Summary convert(RatesSnapshot snapshot, Format format, InputStream input, OutputStream output)
+            throws IOException {
+        BoundedLineReader reader = new BoundedLineReader(new InputStreamReader(input, StandardCharsets.UTF_8),
+                BUFFER_SIZE, maxLineLength);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+        ResultWriter results = format == Format.NDJSON
+                ? new NdjsonResultWriter(objectMapper.getFactory().createGenerator(writer))
+                : new CsvResultWriter(writer);
+        ObjectReader lineReader = objectMapper.readerFor(ConversionLine.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        CrossRateMatrix crossRates = snapshot.getCrossRates();
+
+        long lineNumber = 0;
+        long converted = 0;
+        long failed = 0;
+        try {
+            while (true) {
+                if (!reader.ready()) {
+                    results.flush();
+                }
+                String line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                lineNumber++;
+                if (reader.isOversized()) {
+                    results.failed(lineNumber, null, null, "Line longer than " + maxLineLength + " characters");
+                    failed++;
+                    continue;
+                }
+                if (line.isBlank() || (format == Format.CSV && lineNumber == 1 && isCsvHeader(line))) {
+                    continue;
+                }
+
+                ConversionLine request;
+                try {
+                    request = format == Format.NDJSON ? lineReader.readValue(line) : parseCsv(line);
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    results.failed(lineNumber, null, null, "Malformed line, expected from, to and amount");
+                    failed++;
+                    continue;
+                }
+
+                String error = validate(request);
+                int fromIndex = crossRates.indexOf(request.from());
+                int toIndex = crossRates.indexOf(request.to());
+                if (error == null && (fromIndex < 0 || toIndex < 0)) {
+                    error = "Exchange rate not found for conversion: " + request.from() + " -> " + request.to();
+                }
+                if (error != null) {
+                    results.failed(lineNumber, request.from(), request.to(), error);
+                    failed++;
+                    continue;
+                }
+
+                double rate = crossRates.rate(fromIndex, toIndex);
+                results.converted(lineNumber, request.from(), request.to(), request.amount(), rate,
+                        request.amount() * rate);
+                converted++;
+            }
+            results.flush();
+        } finally {
+            exchangeRateMetrics.recordBulkConversion(converted, failed);
+        }
+        return new Summary(converted, failed);
+    }
+
+    private static String validate(ConversionLine request) {
+        if (request.from() == null || request.to() == null) {
+            return "Both from and to currencies are required";
+        }
+        if (request.amount() == null || !Double.isFinite(request.amount())) {
+            return "Amount must be a finite number";
+        }
+        return null;
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.regionMatches(true, 0, "from", 0, 4) || line.regionMatches(true, 0, "\"from\"", 0, 6);
+    }
+
+    static ConversionLine parseCsv(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != 3) {
+            throw new IllegalArgumentException("Expected 3 fields but found " + fields.length);
+        }
+        return new ConversionLine(unquote(fields[0]), unquote(fields[1]), Double.valueOf(unquote(fields[2])));
+    }
+
+    private static String unquote(String field) {
+        String value = field.trim();
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1).trim();
+        }
+        return value.isEmpty() ? null : value;
+    }
+
+    record ConversionLine(String from, String to, Double amount) {
+    }
+
+    /**
+     * Splits input into lines like {@link java.io.BufferedReader#readLine()}, but never holds more than
+     * {@code maxLength} characters of one line.
+     */
+    static final class BoundedLineReader {
+        private final Reader reader;
+        private final char[] buffer;
+        private final int maxLength;
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean oversized;
+
+        BoundedLineReader(Reader reader, int bufferSize, int maxLength) {
+            this.reader = reader;
+            this.buffer = new char[bufferSize];
+            this.maxLength = maxLength;
+        }
+
+        boolean ready() throws IOException {
+            return position < limit || reader.ready();
+        }
+
+        /**
+         * Returns the next line without its terminator, or {@code null} at the end of input. An oversized line is
+         * returned as an empty string with {@link #isOversized()} set.
+         */
+        String readLine() throws IOException {
+            line.setLength(0);
+            oversized = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    int count = reader.read(buffer, 0, buffer.length);
+                    position = 0;
+                    limit = Math.max(count, 0);
+                    if (count <= 0) {
+                        if (!read) {
+                            return null;
+                        }
+                        break;
+                    }
+                }
+                read = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                // One extra character leaves room for the '\r' of a CRLF terminator.
+                if (!oversized && line.length() + (position - start) > maxLength + 1) {
+                    oversized = true;
+                    line.setLength(0);
+                } else if (!oversized) {
+                    line.append(buffer, start, position - start);
+                }
+                if (position < limit) {
+                    position++;
+                    break;
+                }
+            }
+            if (!oversized && line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+            if (line.length() > maxLength) {
+                oversized = true;
+                line.setLength(0);
+            }
+            return oversized ? "" : line.toString();
+        }
+
+        boolean isOversized() {
+            return oversized;
+        }
+    }
+
+    private interface ResultWriter {
+
+        void converted(long line, String from, String to, double amount, double rate, double result)
+                throws IOException;
+
+        void failed(long line, String from, String to, String error) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static final class NdjsonResultWriter implements ResultWriter {
+        private final JsonGenerator generator;
+
+        NdjsonResultWriter(JsonGenerator generator) {
+            this.generator = generator;
+            // Each result is its own line instead of being separated by the default single space.
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void converted(long line, String from, String to, double amount, double rate, double result)
+                throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("line", line);
+            generator.writeStringField("from", from);
+            generator.writeStringField("to", to);
+            generator.writeNumberField("amount", amount);
+            generator.writeNumberField("rate", rate);
+            generator.writeNumberField("result", result);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void failed(long line, String from, String to, String error) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("line", line);
+            if (from != null) {
+                generator.writeStringField("from", from);
+            }
+            if (to != null) {
+                generator.writeStringField("to", to);
+            }
+            generator.writeStringField("error", error);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvResultWriter implements ResultWriter {
+        private final Writer writer;
+        private boolean headerWritten;
+
+        CsvResultWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void converted(long line, String from, String to, double amount, double rate, double result)
+                throws IOException {
+            writeHeader();
+            writer.write(line + "," + escape(from) + "," + escape(to) + "," + number(amount) + "," + number(rate)
+                    + "," + number(result) + ",\n");
+        }
+
+        @Override
+        public void failed(long line, String from, String to, String error) throws IOException {
+            writeHeader();
+            writer.write(line + "," + escape(from) + "," + escape(to) + ",,,," + escape(error) + "\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writeHeader();
+            writer.flush();
+        }
+
+        private void writeHeader() throws IOException {
+            if (!headerWritten) {
+                writer.write(CSV_HEADER + "\n");
+                headerWritten = true;
+            }
+        }
+
+        // Double.toString switches to scientific notation (1.0E7, 1.0E-4), which spreadsheets and most CSV readers
+        // do not parse as plain numbers.
+        private static String number(double value) {
+            return Double.isFinite(value) ? BigDecimal.valueOf(value).toPlainString() : Double.toString(value);
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+                return value;
+            }
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.dto.CurrencyDto;
+import com.dev.currencyexchange.event.CurrencyCatalogChangedEvent;
+import com.dev.currencyexchange.event.CurrencyCatalogLoadedEvent;
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import com.dev.currencyexchange.model.CurrencyCatalog;
+import com.dev.currencyexchange.repository.CurrencyRepository;
+import com.dev.currencyexchange.service.CurrencyCatalogService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class CurrencyCatalogServiceImpl implements CurrencyCatalogService {
+    private static final Logger LOG = LoggerFactory.getLogger(CurrencyCatalogServiceImpl.class);
+
+    private final CurrencyRepository currencyRepository;
+    private final ObjectMapper objectMapper;
+    private final ExchangeRateMetrics exchangeRateMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile CurrencyCatalog catalog;
+    private volatile long storedVersion;
+
+    @Override
+    public CurrencyCatalog getCatalog() {
+        CurrencyCatalog current = catalog;
+        exchangeRateMetrics.recordCacheAccess(ExchangeRateMetrics.CACHE_CATALOG, current != null);
+        return current != null ? current : reload();
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized CurrencyCatalog reload() {
+        // Read before the rows, so a currency committed in between triggers one more reload rather than none.
+        long stored = currencyRepository.findCatalogVersion();
+        List<CurrencyDto> currencies = currencyRepository.findAll().stream()
+                .map(currency -> new CurrencyDto(currency.getCode(), currency.getName()))
+                .toList();
+        long version = catalog == null ? 1L : catalog.getVersion() + 1;
+        catalog = new CurrencyCatalog(version, currencies, serialize(currencies));
+        storedVersion = stored;
+
+        LOG.info("Loaded currency catalog version {} with {} currencies", version, currencies.size());
+        eventPublisher.publishEvent(new CurrencyCatalogLoadedEvent(catalog));
+        return catalog;
+    }
+
+    @Override
+    public CurrencyCatalog reloadIfChanged() {
+        CurrencyCatalog current = catalog;
+        long stored;
+        try {
+            stored = currencyRepository.findCatalogVersion();
+        } catch (DataAccessException e) {
+            if (current == null) {
+                throw e;
+            }
+            LOG.warn("Failed to read the stored currency catalog version, keeping catalog version {}: {}",
+                    current.getVersion(), e.getMessage());
+            return current;
+        }
+        if (current != null && stored == storedVersion) {
+            return current;
+        }
+        LOG.info("Stored currency catalog version changed to {}, reloading", stored);
+        return reload();
+    }
+
+    private byte[] serialize(List<CurrencyDto> currencies) {
+        try {
+            return objectMapper.writeValueAsBytes(currencies);
+        } catch (JsonProcessingException e) {
+            LOG.error("Failed to pre-serialize the currency catalog", e);
+            return null;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CurrencyCatalogChangedEvent event) {
+        LOG.info("Currency catalog changed by {}, reloading", event.getCurrencyCodes());
+        reload();
+    }
+}
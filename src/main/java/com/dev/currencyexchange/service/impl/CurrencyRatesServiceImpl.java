@@ -1,86 +1,182 @@
 package com.dev.currencyexchange.service.impl;
 
-import com.dev.currencyexchange.dto.ExchangeRateResponse;
-import com.dev.currencyexchange.entity.Currency;
-import com.dev.currencyexchange.entity.CurrencyRateLog;
-import com.dev.currencyexchange.repository.CurrencyRepository;
-import com.dev.currencyexchange.repository.ExchangeRateLogRepository;
+import com.dev.currencyexchange.dto.ExchangeRatesDto;
+import com.dev.currencyexchange.event.RatesSnapshotPublishedEvent;
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import com.dev.currencyexchange.model.AggregatedRates;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.service.CurrencyCatalogService;
 import com.dev.currencyexchange.service.CurrencyRatesService;
-import lombok.Getter;
+import com.dev.currencyexchange.service.FetchLeaseService;
+import com.dev.currencyexchange.service.RateProviderService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
 public class CurrencyRatesServiceImpl implements CurrencyRatesService {
     private static final Logger LOG = LoggerFactory.getLogger(CurrencyRatesService.class);
 
-    @Getter
-    private final Map<String, Double> exchangeRates = new ConcurrentHashMap<>();
-    private final CurrencyRepository currencyRepository;
-    private final ExchangeRateLogRepository exchangeRateLogRepository;
-    private final RestTemplate restTemplate;
+    private final AtomicReference<RatesSnapshot> snapshot = new AtomicReference<>(RatesSnapshot.empty(null));
+    private final CurrencyCatalogService currencyCatalogService;
+    private final RateProviderService rateProviderService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final ExchangeRateMetrics exchangeRateMetrics;
+    private final FetchLeaseService fetchLeaseService;
 
     @Value("${base.currency}")
     private String baseCurrency;
 
-    @Value("${exchange.api.url}")
-    private String exchangeRatesApiUrl;
-
-    @Value("${api.key}")
-    private String apiKey;
-
-    @Scheduled(fixedRate = 3600000)
+    @Override
+    @Scheduled(fixedRateString = "${rates.refresh-interval:PT1H}")
     public void fetchExchangeRates() {
+        if (!fetchLeaseService.isLeader()) {
+            LOG.debug("Another replica holds the rates fetch lease, waiting for its snapshot");
+            return;
+        }
 
-        List<Currency> currencies = currencyRepository.findAll();
-        if (currencies.isEmpty()) {
+        // Currencies may have been added through another replica since the catalog was loaded here.
+        List<String> currencyCodes = currencyCatalogService.reloadIfChanged().getCurrencyCodes();
+        if (currencyCodes.isEmpty()) {
             LOG.warn("No currencies found in the database");
             return;
         }
 
-        String symbols = currencies.stream().map(Currency::getCode).collect(Collectors.joining(","));
+        Timer.Sample fetchSample = exchangeRateMetrics.startFetch();
+        AggregatedRates aggregated;
+        try {
+            aggregated = rateProviderService.fetchLatestRates(baseCurrency, currencyCodes);
+        } catch (Exception e) {
+            exchangeRateMetrics.recordFetch(fetchSample, ExchangeRateMetrics.OUTCOME_ERROR);
+            LOG.error("Error fetching exchange rates", e);
+            return;
+        }
 
-        String url = String.format("%s?access_key=%s&base=%s&symbols=%s", exchangeRatesApiUrl, apiKey, baseCurrency, symbols);
+        if (aggregated.isEmpty()) {
+            exchangeRateMetrics.recordFetch(fetchSample, emptyFetchOutcome(aggregated));
+            LOG.warn("No provider returned rates for base currency {} ({}), keeping snapshot version {}",
+                    baseCurrency, aggregated.getProviderOutcomes(), snapshot.get().getVersion());
+            return;
+        }
+        exchangeRateMetrics.recordFetch(fetchSample, ExchangeRateMetrics.OUTCOME_SUCCESS);
+        exchangeRateMetrics.recordRatesFetched(aggregated.getRates().size());
 
+        // History rows are written behind by RateHistoryWriter, so a slow or unavailable database never delays
+        // publication of the fetched rates.
         try {
-            ResponseEntity<ExchangeRateResponse> response = restTemplate.exchange(url, HttpMethod.GET,
-                    null, ExchangeRateResponse.class);
-
-            if (response.getStatusCode() == HttpStatus.OK) {
-                ExchangeRateResponse exchangeRateResponse = response.getBody();
-                if (exchangeRateResponse.getRates() != null) {
-                    exchangeRates.clear();
-                    exchangeRates.putAll(exchangeRateResponse.getRates());
-                    exchangeRateLogRepository.save(CurrencyRateLog.builder()
-                            .baseCurrency(baseCurrency)
-                            .rates(exchangeRateResponse.getRates())
-                            .build());
-                    LOG.info("Exchange rates updated successfully for base currency {}", baseCurrency);
-                }
-            } else {
-                LOG.error("Failed to fetch exchange rates: {}", response.getStatusCode());
-            }
+            RatesSnapshot published = publishSnapshot(aggregated.getRates(), aggregated.getSources(), Instant.now());
+            LOG.info("Exchange rates updated successfully for base currency {}, snapshot version {}",
+                    baseCurrency, published.getVersion());
         } catch (Exception e) {
-            LOG.error("Error fetching exchange rates", e);
+            LOG.error("Error updating exchange rates", e);
+        }
+    }
+
+    private static String emptyFetchOutcome(AggregatedRates aggregated) {
+        Collection<String> outcomes = aggregated.getProviderOutcomes().values();
+        if (!outcomes.isEmpty() && outcomes.stream().allMatch(ExchangeRateMetrics.OUTCOME_CIRCUIT_OPEN::equals)) {
+            return ExchangeRateMetrics.OUTCOME_CIRCUIT_OPEN;
+        }
+        if (outcomes.contains(ExchangeRateMetrics.OUTCOME_SUCCESS)
+                || outcomes.contains(ExchangeRateMetrics.OUTCOME_EMPTY)) {
+            return ExchangeRateMetrics.OUTCOME_EMPTY;
+        }
+        return ExchangeRateMetrics.OUTCOME_ERROR;
+    }
+
+    public RatesSnapshot publishSnapshot(Map<String, Double> rates, Instant fetchedAt) {
+        return publishSnapshot(rates, Map.of(), fetchedAt);
+    }
+
+    public RatesSnapshot publishSnapshot(Map<String, Double> rates, Map<String, String> sources, Instant fetchedAt) {
+        RatesSnapshot previous;
+        RatesSnapshot published;
+        do {
+            previous = snapshot.get();
+            published = withResponseBodies(
+                    new RatesSnapshot(previous.getVersion() + 1, baseCurrency, fetchedAt, rates, sources));
+        } while (!snapshot.compareAndSet(previous, published));
+
+        eventPublisher.publishEvent(new RatesSnapshotPublishedEvent(published, previous));
+        return published;
+    }
+
+    @Override
+    public RatesSnapshot restoreSnapshot(Map<String, Double> rates, Map<String, String> sources, Instant fetchedAt) {
+        RatesSnapshot current = snapshot.get();
+        if (!current.isEmpty()) {
+            return null;
+        }
+        RatesSnapshot restored = withResponseBodies(
+                new RatesSnapshot(current.getVersion() + 1, baseCurrency, fetchedAt, rates, sources).asRestored());
+        if (!snapshot.compareAndSet(current, restored)) {
+            return null;
+        }
+
+        eventPublisher.publishEvent(new RatesSnapshotPublishedEvent(restored, current));
+        return restored;
+    }
+
+    @Override
+    public RatesSnapshot applyReplicatedSnapshot(long version, Map<String, Double> rates, Map<String, String> sources,
+                                                 Instant fetchedAt) {
+        RatesSnapshot previous;
+        RatesSnapshot applied;
+        do {
+            previous = snapshot.get();
+            if (!previous.isEmpty() && !previous.isRestored() && !fetchedAt.isAfter(previous.getFetchedAt())) {
+                return null;
+            }
+            // Versions only grow locally; they match the cluster version unless this replica ran ahead as leader.
+            applied = withResponseBodies(new RatesSnapshot(Math.max(previous.getVersion() + 1, version), baseCurrency,
+                    fetchedAt, rates, sources));
+        } while (!snapshot.compareAndSet(previous, applied));
+
+        eventPublisher.publishEvent(new RatesSnapshotPublishedEvent(applied, previous, true));
+        return applied;
+    }
+
+    private RatesSnapshot withResponseBodies(RatesSnapshot snapshot) {
+        try {
+            Map<String, byte[]> rateBodies = new HashMap<>(snapshot.getRates().size());
+            for (Map.Entry<String, Double> entry : snapshot.getRates().entrySet()) {
+                rateBodies.put(entry.getKey(), objectMapper.writeValueAsBytes(entry.getValue()));
+            }
+            return snapshot.withResponseBodies(rateBodies,
+                    objectMapper.writeValueAsBytes(ExchangeRatesDto.allRates(snapshot)));
+        } catch (JsonProcessingException e) {
+            LOG.error("Failed to pre-serialize response bodies for snapshot version {}", snapshot.getVersion(), e);
+            return snapshot;
         }
     }
 
+    public Map<String, Double> getExchangeRates() {
+        return snapshot.get().getRates();
+    }
+
     @Override
     public Double getExchangeRatesForCurrency(String currencyCode) {
-        return exchangeRates.get(currencyCode);
+        return snapshot.get().getRate(currencyCode);
+    }
+
+    @Override
+    public RatesSnapshot getSnapshot() {
+        return snapshot.get();
     }
 }
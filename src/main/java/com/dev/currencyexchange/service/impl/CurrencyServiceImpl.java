@@ -1,71 +1,298 @@
 package com.dev.currencyexchange.service.impl;
 
+import com.dev.currencyexchange.dto.ConversionDto;
+import com.dev.currencyexchange.dto.CurrencyBatchItemDto;
+import com.dev.currencyexchange.dto.CurrencyBatchResultDto;
 import com.dev.currencyexchange.dto.CurrencyDto;
+import com.dev.currencyexchange.dto.ExchangeRatesDto;
+import com.dev.currencyexchange.dto.RateEntryDto;
 import com.dev.currencyexchange.entity.Currency;
+import com.dev.currencyexchange.event.CurrencyCatalogChangedEvent;
+import com.dev.currencyexchange.exception.CurrencyAlreadyExistsException;
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import com.dev.currencyexchange.model.CrossRateMatrix;
+import com.dev.currencyexchange.model.CurrencyCatalog;
+import com.dev.currencyexchange.model.RatesSnapshot;
 import com.dev.currencyexchange.repository.CurrencyRepository;
+import com.dev.currencyexchange.service.CurrencyCatalogService;
 import com.dev.currencyexchange.service.CurrencyRatesService;
 import com.dev.currencyexchange.service.CurrencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 public class CurrencyServiceImpl implements CurrencyService {
     private static final Logger LOG = LoggerFactory.getLogger(CurrencyServiceImpl.class);
+    private static final Pattern CURRENCY_CODE = Pattern.compile("[A-Z]{3}");
+    private static final int MAX_NAME_LENGTH = 100;
 
     private final CurrencyRepository currencyRepository;
     private final CurrencyRatesService currencyRatesService;
+    private final CurrencyCatalogService currencyCatalogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExchangeRateMetrics exchangeRateMetrics;
+    private final ObjectMapper objectMapper;
+
+    @Value("${currencies.batch.max-size:1000}")
+    private int maxBatchSize;
 
     @Override
     public List<CurrencyDto> getAllCurrencies() {
-        List<CurrencyDto> currencies = currencyRepository.findAll().stream()
-                .map(currency -> new CurrencyDto(currency.getCode(), currency.getName()))
-                .collect(Collectors.toList());
-        if (currencies.isEmpty()) {
+        return getCurrencyCatalog().getCurrencies();
+    }
+
+    @Override
+    public CurrencyCatalog getCurrencyCatalog() {
+        CurrencyCatalog catalog = currencyCatalogService.getCatalog();
+        if (catalog.isEmpty()) {
             LOG.warn("No currencies found in the database.");
             throw new RuntimeException("No currencies found.");
         }
 
-        LOG.info("Found {} currencies.", currencies.size());
-        return currencies;
+        LOG.debug("Found {} currencies in catalog version {}.", catalog.getCurrencies().size(), catalog.getVersion());
+        return catalog;
     }
 
     @Override
     @Transactional
     public CurrencyDto addCurrency(CurrencyDto currencyDto) {
-        LOG.info("Attempting to add new currency with code: {}", currencyDto.getCode());
+        String code = normalizeCode(currencyDto == null ? null : currencyDto.getCode());
+        LOG.info("Attempting to add new currency with code: {}", code);
 
+        String error = validate(code, currencyDto == null ? null : currencyDto.getName());
+        if (error != null) {
+            LOG.warn("Rejected currency {}: {}", code, error);
+            throw new IllegalArgumentException(error);
+        }
+        if (currencyRepository.existsByCode(code)) {
+            throw currencyExists(code);
+        }
         Currency currency = Currency.builder()
-                .code(currencyDto.getCode())
-                .name(currencyDto.getName())
+                .code(code)
+                .name(currencyDto.getName().trim())
                 .build();
-        Currency savedCurrency = currencyRepository.save(currency);
-        if (savedCurrency.getCode().equals(currencyDto.getCode())) {
-            LOG.info("Successfully added new currency: {}", currencyDto.getCode());
-            return currencyDto;
-        } else {
-            LOG.error("Currency with code {} already exists.", currencyDto.getCode());
-            throw new RuntimeException("Currency with code " + currencyDto.getCode() + " already exists.");
+        try {
+            currencyRepository.saveAndFlush(currency);
+        } catch (DataIntegrityViolationException e) {
+            // Another request inserted the same code between the check and the flush.
+            throw currencyExists(code);
+        }
+
+        currencyRepository.incrementCatalogVersion();
+        eventPublisher.publishEvent(new CurrencyCatalogChangedEvent(currency.getCode()));
+        LOG.info("Successfully added new currency: {}", code);
+        return new CurrencyDto(currency.getCode(), currency.getName());
+    }
+
+    @Override
+    @Transactional
+    public CurrencyBatchResultDto addCurrencies(List<CurrencyDto> currencyDtos) {
+        if (currencyDtos == null || currencyDtos.isEmpty()) {
+            throw new IllegalArgumentException("At least one currency is required.");
+        }
+        if (currencyDtos.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " currencies can be added at once.");
+        }
+        LOG.info("Attempting to add {} currencies in one batch", currencyDtos.size());
+
+        CurrencyBatchItemDto[] items = new CurrencyBatchItemDto[currencyDtos.size()];
+        List<CurrencyDto> candidates = new ArrayList<>(currencyDtos.size());
+        List<Integer> candidatePositions = new ArrayList<>(currencyDtos.size());
+        Set<String> seenCodes = new HashSet<>();
+        for (int i = 0; i < currencyDtos.size(); i++) {
+            CurrencyDto currencyDto = currencyDtos.get(i);
+            String code = normalizeCode(currencyDto == null ? null : currencyDto.getCode());
+            String error = validate(code, currencyDto == null ? null : currencyDto.getName());
+            if (error != null) {
+                items[i] = CurrencyBatchItemDto.invalid(code, error);
+            } else if (!seenCodes.add(code)) {
+                items[i] = CurrencyBatchItemDto.existing(code);
+            } else {
+                candidates.add(new CurrencyDto(code, currencyDto.getName().trim()));
+                candidatePositions.add(i);
+            }
+        }
+
+        boolean[] inserted = currencyRepository.insertMissing(candidates);
+        List<String> createdCodes = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            String code = candidates.get(i).getCode();
+            if (inserted[i]) {
+                createdCodes.add(code);
+            }
+            items[candidatePositions.get(i)] = inserted[i]
+                    ? CurrencyBatchItemDto.created(code)
+                    : CurrencyBatchItemDto.existing(code);
         }
+
+        if (!createdCodes.isEmpty()) {
+            currencyRepository.incrementCatalogVersion();
+            eventPublisher.publishEvent(new CurrencyCatalogChangedEvent(createdCodes));
+        }
+        CurrencyBatchResultDto result = CurrencyBatchResultDto.of(List.of(items));
+        LOG.info("Currency batch finished: {} created, {} existing, {} invalid", result.getCreated(),
+                result.getExisting(), result.getInvalid());
+        return result;
+    }
+
+    private static String normalizeCode(String code) {
+        return code == null ? null : code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String validate(String code, String name) {
+        if (code == null || !CURRENCY_CODE.matcher(code).matches()) {
+            return "Currency code must consist of three letters.";
+        }
+        if (name == null || name.isBlank()) {
+            return "Currency name is required.";
+        }
+        if (name.trim().length() > MAX_NAME_LENGTH) {
+            return "Currency name must not exceed " + MAX_NAME_LENGTH + " characters.";
+        }
+        return null;
+    }
+
+    private static CurrencyAlreadyExistsException currencyExists(String currencyCode) {
+        LOG.warn("Currency with code {} already exists.", currencyCode);
+        return new CurrencyAlreadyExistsException(currencyCode);
     }
 
     @Override
     public Double getExchangeRatesForCurrency(String currencyCode) {
-        LOG.info("Fetching exchange rate for currency: {}", currencyCode);
+        LOG.debug("Fetching exchange rate for currency: {}", currencyCode);
 
         Double exchangeRate = currencyRatesService.getExchangeRatesForCurrency(currencyCode);
+        return requireExchangeRate(currencyCode, exchangeRate);
+    }
+
+    @Override
+    public Double getExchangeRatesForCurrency(RatesSnapshot snapshot, String currencyCode) {
+        LOG.debug("Fetching exchange rate for currency: {} from snapshot version {}", currencyCode,
+                snapshot.getVersion());
+
+        return requireExchangeRate(currencyCode, snapshot.getRate(currencyCode));
+    }
+
+    @Override
+    public byte[] getExchangeRateBody(RatesSnapshot snapshot, String currencyCode) {
+        Double exchangeRate = getExchangeRatesForCurrency(snapshot, currencyCode);
+        byte[] body = snapshot.getRateBody(currencyCode);
+        exchangeRateMetrics.recordCacheAccess(ExchangeRateMetrics.CACHE_RATE_BODY, body != null);
+        return body != null ? body : exchangeRate.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public byte[] getExchangeRateBody(RatesSnapshot snapshot, String baseCurrency, String currencyCode) {
+        if (snapshot.isFetchedBase(baseCurrency)) {
+            return getExchangeRateBody(snapshot, currencyCode);
+        }
+
+        LOG.debug("Deriving exchange rate {} -> {} from snapshot version {}", baseCurrency, currencyCode,
+                snapshot.getVersion());
+        Double exchangeRate = requireExchangeRate(currencyCode, snapshot.getRate(baseCurrency, currencyCode));
+        return exchangeRate.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public byte[] getAllExchangeRatesBody(RatesSnapshot snapshot, String baseCurrency) {
+        return snapshot.getAllRatesBody(baseCurrency, base -> {
+            try {
+                return objectMapper.writeValueAsBytes(ExchangeRatesDto.allRates(snapshot, base));
+            } catch (JsonProcessingException e) {
+                LOG.error("Failed to serialize exchange rates against {} for snapshot version {}", base,
+                        snapshot.getVersion(), e);
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public RatesSnapshot getRatesSnapshot() {
+        return currencyRatesService.getSnapshot();
+    }
+
+    @Override
+    public ExchangeRatesDto getExchangeRates(List<String> currencyCodes) {
+        return getExchangeRates(null, currencyCodes);
+    }
+
+    @Override
+    public ExchangeRatesDto getExchangeRates(String baseCurrency, List<String> currencyCodes) {
+        RatesSnapshot snapshot = currencyRatesService.getSnapshot();
+        boolean fetchedBase = snapshot.isFetchedBase(baseCurrency);
+        if (!fetchedBase && snapshot.getCrossRates().indexOf(baseCurrency) < 0) {
+            LOG.error("Exchange rates not found for base currency: {}", baseCurrency);
+            throw new RuntimeException("Exchange rate not found for currency: " + baseCurrency);
+        }
+
+        if (currencyCodes == null || currencyCodes.isEmpty()) {
+            LOG.debug("Returning all exchange rates against {} from snapshot version {}",
+                    fetchedBase ? snapshot.getBaseCurrency() : baseCurrency, snapshot.getVersion());
+            return ExchangeRatesDto.allRates(snapshot, baseCurrency);
+        }
+
+        List<RateEntryDto> entries = new ArrayList<>(currencyCodes.size());
+        for (String currencyCode : currencyCodes) {
+            Double rate = snapshot.getRate(baseCurrency, currencyCode);
+            entries.add(rate == null
+                    ? RateEntryDto.notFound(currencyCode)
+                    : RateEntryDto.found(currencyCode, rate, fetchedBase ? snapshot.getSource(currencyCode) : null));
+        }
+
+        LOG.debug("Returning {} exchange rates from snapshot version {}", entries.size(), snapshot.getVersion());
+        return fetchedBase
+                ? ExchangeRatesDto.of(snapshot, entries)
+                : ExchangeRatesDto.of(snapshot, baseCurrency, entries);
+    }
+
+    @Override
+    public ConversionDto convert(String fromCurrency, String toCurrency, double amount) {
+        RatesSnapshot snapshot = currencyRatesService.getSnapshot();
+        CrossRateMatrix crossRates = snapshot.getCrossRates();
+
+        int fromIndex = crossRates.indexOf(fromCurrency);
+        int toIndex = crossRates.indexOf(toCurrency);
+        if (fromIndex < 0 || toIndex < 0) {
+            LOG.error("Exchange rate not found for conversion {} -> {}", fromCurrency, toCurrency);
+            throw new RuntimeException("Exchange rate not found for conversion: " + fromCurrency + " -> " + toCurrency);
+        }
+
+        double rate = crossRates.rate(fromIndex, toIndex);
+        return ConversionDto.builder()
+                .from(fromCurrency)
+                .to(toCurrency)
+                .amount(amount)
+                .rate(rate)
+                .result(amount * rate)
+                .snapshotVersion(snapshot.getVersion())
+                .stale(snapshot.isRestored())
+                .build();
+    }
+
+    private Double requireExchangeRate(String currencyCode, Double exchangeRate) {
         if (exchangeRate == null) {
             LOG.error("Exchange rate not found for currency: {}", currencyCode);
             throw new RuntimeException("Exchange rate not found for currency: " + currencyCode);
         }
 
-        LOG.info("Exchange rate for currency {} is {}", currencyCode, exchangeRate);
+        LOG.debug("Exchange rate for currency {} is {}", currencyCode, exchangeRate);
         return exchangeRate;
     }
 }
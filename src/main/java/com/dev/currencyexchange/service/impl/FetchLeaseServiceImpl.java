@@ -0,0 +1,141 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import com.dev.currencyexchange.repository.RatesClusterRepository;
+import com.dev.currencyexchange.service.FetchLeaseService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Elects the single replica that fetches rates through a lease row in Postgres. Every replica tries to take or renew
+ * the lease three times per {@code rates.cluster.lease-duration} on a dedicated thread, starting right away, so a long
+ * fetch or export on the shared scheduler never lets it lapse; when the holder stops renewing, the lease expires and
+ * the next replica to try takes over. Leadership checks only read the state that thread keeps and never touch the
+ * database. Expiry is decided on the database clock, and locally the lease is counted from before the renewal was
+ * sent, so this replica never believes it holds the lease longer than the database does.
+ */
+@Service
+@RequiredArgsConstructor
+public class FetchLeaseServiceImpl implements FetchLeaseService {
+    private static final Logger LOG = LoggerFactory.getLogger(FetchLeaseServiceImpl.class);
+    static final String LEASE_NAME = "rates-fetch";
+
+    private final RatesClusterRepository ratesClusterRepository;
+    private final ExchangeRateMetrics exchangeRateMetrics;
+
+    @Value("${rates.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${rates.cluster.lease-duration:PT30S}")
+    private Duration leaseDuration;
+
+    @Value("${rates.cluster.node-id:}")
+    private String nodeId;
+
+    private volatile boolean leader;
+    private volatile long leaseValidUntilNanos;
+    private volatile boolean leaseUnavailable;
+    private ScheduledExecutorService renewer;
+
+    @PostConstruct
+    void start() {
+        if (nodeId.isBlank()) {
+            nodeId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+        exchangeRateMetrics.registerFetchLeader(() -> enabled && leader && leaseValid());
+        if (enabled) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("rates-lease-");
+            threadFactory.setDaemon(true);
+            renewer = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            long renewInterval = Math.max(1, leaseDuration.toMillis() / 3);
+            renewer.scheduleWithFixedDelay(this::renew, 0, renewInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (renewer != null) {
+            renewer.shutdownNow();
+        }
+        if (enabled && leader) {
+            try {
+                ratesClusterRepository.releaseLease(LEASE_NAME, nodeId);
+                LOG.info("Released the rates fetch lease held by {}", nodeId);
+            } catch (DataAccessException e) {
+                LOG.warn("Failed to release the rates fetch lease, it expires in {}", leaseDuration);
+            }
+        }
+    }
+
+    @Override
+    public boolean isLeader() {
+        if (!enabled) {
+            return true;
+        }
+        // Serving fresh rates matters more than a single upstream call while the lease cannot be checked.
+        return leaseUnavailable || leader && leaseValid();
+    }
+
+    @Override
+    public synchronized boolean renew() {
+        if (!enabled) {
+            return true;
+        }
+        long requestedAt = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = ratesClusterRepository.tryAcquireLease(LEASE_NAME, nodeId, leaseDuration);
+        } catch (DataAccessException e) {
+            leader = false;
+            if (!leaseUnavailable) {
+                leaseUnavailable = true;
+                LOG.warn("Rates fetch lease cannot be checked, fetching locally until the database is back: {}",
+                        e.getMessage());
+            }
+            return true;
+        }
+        if (leaseUnavailable) {
+            leaseUnavailable = false;
+            LOG.info("Rates fetch lease can be checked again");
+        }
+
+        leaseValidUntilNanos = requestedAt + leaseDuration.toNanos();
+        if (acquired != leader) {
+            LOG.info(acquired ? "{} took the rates fetch lease" : "{} lost the rates fetch lease", nodeId);
+        }
+        leader = acquired;
+        return acquired;
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private boolean leaseValid() {
+        return leaseValidUntilNanos - System.nanoTime() > 0;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "replica";
+        }
+    }
+}
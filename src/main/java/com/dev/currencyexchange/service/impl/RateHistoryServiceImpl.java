@@ -0,0 +1,69 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.dto.RateHistoryDto;
+import com.dev.currencyexchange.dto.RateHistoryPointDto;
+import com.dev.currencyexchange.entity.CurrencyRateLog;
+import com.dev.currencyexchange.repository.ExchangeRateLogRepository;
+import com.dev.currencyexchange.service.RateHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.dev.currencyexchange.logging.SampledLogFilter.SAMPLED;
+
+@Service
+@RequiredArgsConstructor
+public class RateHistoryServiceImpl implements RateHistoryService {
+    private static final Logger LOG = LoggerFactory.getLogger(RateHistoryServiceImpl.class);
+    private static final Duration DEFAULT_RANGE = Duration.ofDays(7);
+
+    private final ExchangeRateLogRepository exchangeRateLogRepository;
+
+    @Value("${history.max-points:10000}")
+    private int maxPoints;
+
+    @Override
+    @Transactional(readOnly = true)
+    public RateHistoryDto getHistory(String currencyCode, Instant from, Instant to) {
+        Instant rangeEnd = to != null ? to : Instant.now();
+        Instant rangeStart = from != null ? from : rangeEnd.minus(DEFAULT_RANGE);
+        if (rangeStart.isAfter(rangeEnd)) {
+            throw new IllegalArgumentException("History range start " + rangeStart + " is after end " + rangeEnd);
+        }
+
+        // Only changed rates are stored, so the rate in effect at the start of the range may predate it.
+        List<RateHistoryPointDto> points = new ArrayList<>();
+        exchangeRateLogRepository.findRateAt(currencyCode, rangeStart)
+                .filter(log -> log.getFetchedAt().isBefore(rangeStart))
+                .ifPresent(log -> points.add(new RateHistoryPointDto(log.getFetchedAt(), log.getRate())));
+        // One row beyond the limit tells whether the range holds more points than are returned.
+        int limit = maxPoints - points.size();
+        List<CurrencyRateLog> logs = exchangeRateLogRepository
+                .findByCurrencyCodeAndFetchedAtBetweenOrderByFetchedAtAsc(currencyCode, rangeStart, rangeEnd,
+                        Limit.of(limit + 1));
+        boolean truncated = logs.size() > limit;
+        logs.stream()
+                .limit(limit)
+                .map(log -> new RateHistoryPointDto(log.getFetchedAt(), log.getRate()))
+                .forEach(points::add);
+
+        LOG.info(SAMPLED, "Found {} history points for currency {} between {} and {}{}", points.size(), currencyCode,
+                rangeStart, rangeEnd, truncated ? ", truncated" : "");
+        return RateHistoryDto.builder()
+                .currencyCode(currencyCode)
+                .from(rangeStart)
+                .to(rangeEnd)
+                .points(points)
+                .truncated(truncated)
+                .build();
+    }
+}
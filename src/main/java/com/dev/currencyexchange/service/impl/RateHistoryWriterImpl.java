@@ -0,0 +1,263 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.config.TaskExecutors;
+import com.dev.currencyexchange.entity.CurrencyRateLog;
+import com.dev.currencyexchange.event.RatesSnapshotPublishedEvent;
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.repository.CurrencyRateRollupRepository;
+import com.dev.currencyexchange.repository.ExchangeRateLogRepository;
+import com.dev.currencyexchange.service.RateHistoryWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes rate history behind the in-memory publication. Every published snapshot is diffed against its predecessor
+ * and queued without blocking; a single writer drains the bounded queue, stores up to
+ * {@code history.write-behind.max-batch} refreshes in one JDBC batch and retries transient database errors with
+ * capped exponential backoff. A full queue drops the refresh, and any lost write makes the next stored refresh a
+ * full checkpoint so history can still be rebuilt from checkpoint plus deltas. Every stored refresh is also folded
+ * into the OHLC rollups with all of its rates, including the unchanged ones. Queued refreshes keep only the rates and
+ * their sources, not the snapshot with its cross rate matrix and response bodies, so a backlog stays small.
+ */
+@Service
+@RequiredArgsConstructor
+public class RateHistoryWriterImpl implements RateHistoryWriter {
+    private static final Logger LOG = LoggerFactory.getLogger(RateHistoryWriterImpl.class);
+
+    private final ExchangeRateLogRepository exchangeRateLogRepository;
+    private final CurrencyRateRollupRepository currencyRateRollupRepository;
+    private final ExchangeRateMetrics exchangeRateMetrics;
+
+    @Value("${history.checkpoint-interval:P1D}")
+    private Duration checkpointInterval;
+
+    @Value("${history.write-behind.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${history.write-behind.max-batch:24}")
+    private int maxBatch;
+
+    @Value("${history.write-behind.initial-backoff:1s}")
+    private Duration initialBackoff;
+
+    @Value("${history.write-behind.max-backoff:1m}")
+    private Duration maxBackoff;
+
+    @Value("${history.write-behind.shutdown-timeout:10s}")
+    private Duration shutdownTimeout;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private BlockingQueue<PendingWrite> queue;
+    private ExecutorService writerExecutor;
+    private volatile boolean running;
+
+    // Fetched snapshots arrive on the refresh thread and replicated ones on the cluster poll thread, which can run
+    // concurrently, so the checkpoint decision is guarded by this lock. Enqueueing never blocks while holding it.
+    private final Object checkpointLock = new Object();
+    private Instant lastCheckpointAt;
+    private boolean checkpointNext = true;
+
+    // Only touched by the writer thread: set when a batch is lost, so the next stored refresh is a full checkpoint.
+    private boolean rewriteAsCheckpoint;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        exchangeRateMetrics.registerHistoryQueue(queue, queueCapacity);
+        running = true;
+        writerExecutor = TaskExecutors.create("rate-history-writer-", 1, virtualThreads);
+        writerExecutor.execute(this::drainLoop);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writerExecutor.shutdown();
+        if (!writerExecutor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            LOG.warn("Rate history writer did not finish within {}, {} refreshes are not stored",
+                    shutdownTimeout, queue.size());
+            writerExecutor.shutdownNow();
+        }
+    }
+
+    @EventListener
+    public void onSnapshotPublished(RatesSnapshotPublishedEvent event) {
+        if (event.isReplicated()) {
+            // The leader stores this refresh; should this replica take over, its first refresh is a full checkpoint
+            // because it cannot know whether the leader's write went through.
+            synchronized (checkpointLock) {
+                checkpointNext = true;
+            }
+        } else if (!event.getSnapshot().isRestored() && !event.getSnapshot().isEmpty()) {
+            enqueue(event);
+        }
+    }
+
+    @Override
+    public boolean enqueue(RatesSnapshotPublishedEvent event) {
+        synchronized (checkpointLock) {
+            return enqueueLocked(event);
+        }
+    }
+
+    private boolean enqueueLocked(RatesSnapshotPublishedEvent event) {
+        RatesSnapshot published = event.getSnapshot();
+        RatesSnapshot previous = event.getPrevious();
+        boolean checkpoint = checkpointNext || isCheckpointDue(previous, published);
+        Map<String, Double> rates = checkpoint ? published.getRates() : published.changedRates(previous);
+
+        if (!queue.offer(PendingWrite.of(published, rates, checkpoint))) {
+            checkpointNext = true;
+            exchangeRateMetrics.recordHistoryWrite(ExchangeRateMetrics.OUTCOME_DROPPED, 1);
+            LOG.warn("Rate history queue is full ({} refreshes), not storing snapshot version {}",
+                    queueCapacity, published.getVersion());
+            return false;
+        }
+        checkpointNext = false;
+        if (checkpoint) {
+            lastCheckpointAt = published.getFetchedAt();
+        }
+        return true;
+    }
+
+    @Override
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private boolean isCheckpointDue(RatesSnapshot previous, RatesSnapshot published) {
+        // A delta cannot express a removed rate, and a restored snapshot may not match what history holds.
+        return lastCheckpointAt == null
+                || previous.isEmpty()
+                || previous.isRestored()
+                || !Objects.equals(previous.getBaseCurrency(), published.getBaseCurrency())
+                || published.dropsRatesOf(previous)
+                || !published.getFetchedAt().isBefore(lastCheckpointAt.plus(checkpointInterval));
+    }
+
+    private void drainLoop() {
+        try {
+            while (running || !queue.isEmpty()) {
+                writeNextBatch(1, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Rate history writer interrupted, {} refreshes are not stored", queue.size());
+        }
+    }
+
+    private void writeNextBatch(long timeout, TimeUnit unit) throws InterruptedException {
+        PendingWrite first = queue.poll(timeout, unit);
+        if (first == null) {
+            return;
+        }
+        List<PendingWrite> batch = new ArrayList<>(maxBatch);
+        batch.add(first);
+        queue.drainTo(batch, maxBatch - 1);
+        write(batch);
+    }
+
+    private void write(List<PendingWrite> batch) throws InterruptedException {
+        List<CurrencyRateLog> rows = toRows(batch);
+        List<CurrencyRateLog> samples = toSamples(batch);
+        Duration backoff = initialBackoff;
+        while (true) {
+            try {
+                // Both writes skip what an earlier attempt already stored, so a retry never counts a sample twice.
+                exchangeRateMetrics.timeHistoryWrite(() -> exchangeRateLogRepository.saveRateLogs(rows)
+                        + currencyRateRollupRepository.saveRollups(samples));
+                exchangeRateMetrics.recordHistoryWrite(ExchangeRateMetrics.OUTCOME_SUCCESS, batch.size());
+                rewriteAsCheckpoint = false;
+                return;
+            } catch (TransientDataAccessException | RecoverableDataAccessException
+                     | DataAccessResourceFailureException e) {
+                if (!running) {
+                    discard(batch, e);
+                    return;
+                }
+                exchangeRateMetrics.recordHistoryWrite(ExchangeRateMetrics.OUTCOME_RETRY, batch.size());
+                LOG.warn("Storing {} rate history rows failed, retrying in {} ({} refreshes queued): {}",
+                        rows.size(), backoff, queue.size(), e.getMessage());
+                Thread.sleep(backoff.toMillis());
+                backoff = backoff.multipliedBy(2).compareTo(maxBackoff) > 0 ? maxBackoff : backoff.multipliedBy(2);
+            } catch (RuntimeException e) {
+                discard(batch, e);
+                return;
+            }
+        }
+    }
+
+    private List<CurrencyRateLog> toRows(List<PendingWrite> batch) {
+        List<CurrencyRateLog> rows = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            PendingWrite pending = batch.get(i);
+            boolean checkpoint = pending.checkpoint() || (i == 0 && rewriteAsCheckpoint);
+            Map<String, Double> rates = checkpoint ? pending.rates() : pending.changedRates();
+            rates.forEach((currencyCode, rate) -> rows.add(CurrencyRateLog.builder()
+                    .currencyCode(currencyCode)
+                    .fetchedAt(pending.fetchedAt())
+                    .baseCurrency(pending.baseCurrency())
+                    .rate(rate)
+                    .provider(pending.sources().get(currencyCode))
+                    .checkpoint(checkpoint)
+                    .build()));
+        }
+        return rows;
+    }
+
+    private static List<CurrencyRateLog> toSamples(List<PendingWrite> batch) {
+        List<CurrencyRateLog> samples = new ArrayList<>();
+        for (PendingWrite pending : batch) {
+            pending.rates().forEach((currencyCode, rate) -> samples.add(CurrencyRateLog.builder()
+                    .currencyCode(currencyCode)
+                    .fetchedAt(pending.fetchedAt())
+                    .baseCurrency(pending.baseCurrency())
+                    .rate(rate)
+                    .build()));
+        }
+        return samples;
+    }
+
+    private void discard(List<PendingWrite> batch, RuntimeException e) {
+        rewriteAsCheckpoint = true;
+        exchangeRateMetrics.recordHistoryWrite(ExchangeRateMetrics.OUTCOME_ERROR, batch.size());
+        LOG.error("Discarding rate history of snapshot versions {} to {}", batch.get(0).version(),
+                batch.get(batch.size() - 1).version(), e);
+    }
+
+    /**
+     * @param rates        all rates of the refresh, for the rollups and for rewriting it as a checkpoint
+     * @param changedRates the rates to store when the refresh is written as a delta
+     */
+    private record PendingWrite(long version, Instant fetchedAt, String baseCurrency, Map<String, Double> rates,
+                                Map<String, Double> changedRates, Map<String, String> sources, boolean checkpoint) {
+
+        static PendingWrite of(RatesSnapshot snapshot, Map<String, Double> changedRates, boolean checkpoint) {
+            return new PendingWrite(snapshot.getVersion(), snapshot.getFetchedAt(), snapshot.getBaseCurrency(),
+                    snapshot.getRates(), changedRates, snapshot.getSources(), checkpoint);
+        }
+    }
+}
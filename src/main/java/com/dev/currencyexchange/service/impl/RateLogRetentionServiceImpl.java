@@ -0,0 +1,139 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.repository.RateLogPartitionRepository;
+import com.dev.currencyexchange.service.FetchLeaseService;
+import com.dev.currencyexchange.service.RateLogRetentionService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static com.dev.currencyexchange.repository.RateLogPartitionRepository.partitionName;
+
+/**
+ * Keeps the monthly partitions of {@code currency_rate_log} ahead of time and ages out old ones. A month expires
+ * once all of it is older than {@code history.retention.max-age}; it is exported to a gzipped CSV file first when
+ * {@code history.retention.export-dir} is set, and kept attached if the export fails so nothing is lost. Only the
+ * replica holding the fetch lease runs the job, so replicas never race on the same DDL.
+ */
+@Service
+@RequiredArgsConstructor
+public class RateLogRetentionServiceImpl implements RateLogRetentionService {
+    private static final Logger LOG = LoggerFactory.getLogger(RateLogRetentionServiceImpl.class);
+
+    private final RateLogPartitionRepository rateLogPartitionRepository;
+    private final FetchLeaseService fetchLeaseService;
+
+    @Value("${history.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${history.retention.enabled:true}")
+    private boolean retentionEnabled;
+
+    @Value("${history.retention.max-age:P12M}")
+    private Period maxAge;
+
+    @Value("${history.retention.drop:true}")
+    private boolean drop;
+
+    @Value("${history.retention.export-dir:}")
+    private String exportDir;
+
+    @Override
+    @Scheduled(cron = "${history.retention.cron:0 15 3 * * *}", zone = "UTC")
+    public void maintainPartitions() {
+        if (!fetchLeaseService.isLeader()) {
+            return;
+        }
+        maintainPartitions(LocalDate.now(ZoneOffset.UTC));
+    }
+
+    void maintainPartitions(LocalDate today) {
+        List<YearMonth> partitions;
+        try {
+            partitions = rateLogPartitionRepository.findPartitionMonths();
+        } catch (DataAccessException e) {
+            LOG.warn("Could not list rate log partitions, skipping maintenance: {}", e.getMessage());
+            return;
+        }
+
+        YearMonth current = YearMonth.from(today);
+        for (YearMonth month = current; !month.isAfter(current.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            if (!partitions.contains(month)) {
+                createPartition(month);
+            }
+        }
+
+        if (retentionEnabled) {
+            LocalDate cutoff = today.minus(maxAge);
+            partitions.stream()
+                    .filter(month -> !month.plusMonths(1).atDay(1).isAfter(cutoff))
+                    .forEach(this::expirePartition);
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        try {
+            rateLogPartitionRepository.createPartition(month);
+            LOG.info("Created rate log partition {}", partitionName(month));
+        } catch (DataAccessException e) {
+            LOG.error("Could not create rate log partition {}", partitionName(month), e);
+        }
+    }
+
+    private void expirePartition(YearMonth month) {
+        String name = partitionName(month);
+        try {
+            if (!exportDir.isBlank()) {
+                export(month, Path.of(exportDir));
+            }
+            rateLogPartitionRepository.detachPartition(month);
+            if (drop) {
+                rateLogPartitionRepository.dropPartition(month);
+                LOG.info("Dropped expired rate log partition {}", name);
+            } else {
+                LOG.info("Detached expired rate log partition {}, it is kept as a standalone table", name);
+            }
+        } catch (DataAccessException | UncheckedIOException e) {
+            LOG.error("Could not expire rate log partition {}, it stays attached", name, e);
+        }
+    }
+
+    private void export(YearMonth month, Path directory) {
+        String name = partitionName(month);
+        Path target = directory.resolve(name + ".csv.gz");
+        try {
+            Files.createDirectories(directory);
+            // Written under a temporary name first, so a file with the final name is always a complete export.
+            Path partial = Files.createTempFile(directory, name, ".partial");
+            try {
+                long rows;
+                try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(partial), 64 * 1024)) {
+                    rows = rateLogPartitionRepository.exportPartition(month, output);
+                }
+                Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                LOG.info("Exported {} rows of rate log partition {} to {}", rows, name, target);
+            } finally {
+                Files.deleteIfExists(partial);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not export " + name + " to " + target, e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.client.RateProvider;
+import com.dev.currencyexchange.config.ExchangeClientProperties;
+import com.dev.currencyexchange.config.TaskExecutors;
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import com.dev.currencyexchange.model.AggregatedRates;
+import com.dev.currencyexchange.service.RateProviderService;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fetches all configured providers in parallel under one shared deadline, which each provider also uses to bound its
+ * retries, and combines their quotes per currency.
+ * Quotes further than {@code exchange.client.max-deviation} from the cross-provider median are rejected; the
+ * remaining quotes are reduced by median or by provider priority, and the chosen provider is kept as provenance.
+ */
+@Service
+@RequiredArgsConstructor
+public class RateProviderServiceImpl implements RateProviderService {
+    private static final Logger LOG = LoggerFactory.getLogger(RateProviderServiceImpl.class);
+
+    private final List<RateProvider> rateProviders;
+    private final ExchangeClientProperties properties;
+    private final ExchangeRateMetrics exchangeRateMetrics;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService fetchExecutor;
+
+    @PostConstruct
+    void start() {
+        fetchExecutor = TaskExecutors.create("rate-provider-", rateProviders.size(), virtualThreads);
+    }
+
+    @PreDestroy
+    void stop() {
+        fetchExecutor.shutdownNow();
+    }
+
+    @Override
+    public AggregatedRates fetchLatestRates(String baseCurrency, List<String> currencyCodes) {
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + properties.getDeadline().toNanos();
+
+        Map<RateProvider, CompletableFuture<Map<String, Double>>> pending = new LinkedHashMap<>();
+        for (RateProvider provider : rateProviders) {
+            pending.put(provider, CompletableFuture.supplyAsync(() -> provider.fetchLatestRates(baseCurrency,
+                    currencyCodes, Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()))), fetchExecutor));
+        }
+
+        List<ProviderRates> responses = new ArrayList<>(pending.size());
+        Map<String, String> outcomes = new LinkedHashMap<>();
+        for (Map.Entry<RateProvider, CompletableFuture<Map<String, Double>>> entry : pending.entrySet()) {
+            RateProvider provider = entry.getKey();
+            String outcome;
+            try {
+                long remainingNanos = Math.max(0, deadlineNanos - System.nanoTime());
+                Map<String, Double> rates = entry.getValue().get(remainingNanos, TimeUnit.NANOSECONDS);
+                outcome = rates.isEmpty() ? ExchangeRateMetrics.OUTCOME_EMPTY : ExchangeRateMetrics.OUTCOME_SUCCESS;
+                responses.add(new ProviderRates(provider.getName(), provider.getPriority(), rates));
+            } catch (TimeoutException e) {
+                // Cancelling does not interrupt the worker; it is bounded by the timeout passed to the provider.
+                entry.getValue().cancel(false);
+                outcome = ExchangeRateMetrics.OUTCOME_TIMEOUT;
+                LOG.warn("Rate provider {} did not answer within {}", provider.getName(), properties.getDeadline());
+            } catch (ExecutionException e) {
+                outcome = failureOutcome(e.getCause());
+                LOG.warn("Rate provider {} failed: {}", provider.getName(), String.valueOf(e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                entry.getValue().cancel(false);
+                outcome = ExchangeRateMetrics.OUTCOME_ERROR;
+            }
+            outcomes.put(provider.getName(), outcome);
+            exchangeRateMetrics.recordProviderFetch(provider.getName(), outcome,
+                    Duration.ofNanos(System.nanoTime() - startNanos));
+        }
+
+        return combine(responses, outcomes);
+    }
+
+    AggregatedRates combine(List<ProviderRates> responses, Map<String, String> outcomes) {
+        Map<String, List<Quote>> quotesByCurrency = new HashMap<>();
+        for (ProviderRates response : responses) {
+            response.rates().forEach((currencyCode, rate) -> {
+                if (currencyCode != null && rate != null && rate > 0 && Double.isFinite(rate)) {
+                    quotesByCurrency.computeIfAbsent(currencyCode, code -> new ArrayList<>())
+                            .add(new Quote(response.provider(), response.priority(), rate));
+                }
+            });
+        }
+
+        Map<String, Double> rates = new HashMap<>(quotesByCurrency.size());
+        Map<String, String> sources = new HashMap<>(quotesByCurrency.size());
+        quotesByCurrency.forEach((currencyCode, quotes) -> {
+            Quote chosen = choose(currencyCode, quotes);
+            rates.put(currencyCode, chosen.rate());
+            sources.put(currencyCode, chosen.provider());
+        });
+        return new AggregatedRates(rates, sources, outcomes);
+    }
+
+    private Quote choose(String currencyCode, List<Quote> quotes) {
+        if (quotes.size() == 1) {
+            return quotes.get(0);
+        }
+        quotes.sort(Comparator.comparingDouble(Quote::rate));
+        double median = median(quotes);
+
+        List<Quote> accepted = new ArrayList<>(quotes.size());
+        for (Quote quote : quotes) {
+            if (Math.abs(quote.rate() - median) / median <= properties.getMaxDeviation()) {
+                accepted.add(quote);
+            } else {
+                exchangeRateMetrics.recordOutlier(quote.provider());
+                LOG.warn("Rejecting {} rate {} from {}, median across providers is {}",
+                        currencyCode, quote.rate(), quote.provider(), median);
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            // No two providers agree, so there is no median to trust; fall back to the preferred provider.
+            return quotes.stream().min(Comparator.comparingInt(Quote::priority)).orElseThrow();
+        }
+        if (properties.getAggregation() == ExchangeClientProperties.Aggregation.PRIORITY) {
+            return accepted.stream().min(Comparator.comparingInt(Quote::priority)).orElseThrow();
+        }
+        // Lower median, so the published rate is always a real quote with a single provider behind it.
+        return accepted.get((accepted.size() - 1) / 2);
+    }
+
+    private static double median(List<Quote> sortedQuotes) {
+        int middle = sortedQuotes.size() / 2;
+        if (sortedQuotes.size() % 2 == 1) {
+            return sortedQuotes.get(middle).rate();
+        }
+        return (sortedQuotes.get(middle - 1).rate() + sortedQuotes.get(middle).rate()) / 2;
+    }
+
+    private static String failureOutcome(Throwable cause) {
+        if (cause instanceof CallNotPermittedException) {
+            return ExchangeRateMetrics.OUTCOME_CIRCUIT_OPEN;
+        }
+        if (cause instanceof HttpStatusCodeException) {
+            return ExchangeRateMetrics.OUTCOME_HTTP_ERROR;
+        }
+        return ExchangeRateMetrics.OUTCOME_ERROR;
+    }
+
+    record ProviderRates(String provider, int priority, Map<String, Double> rates) {
+    }
+
+    private record Quote(String provider, int priority, double rate) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.dto.RateRollupBucketDto;
+import com.dev.currencyexchange.dto.RateRollupDto;
+import com.dev.currencyexchange.model.RollupGranularity;
+import com.dev.currencyexchange.repository.CurrencyRateRollupRepository;
+import com.dev.currencyexchange.service.RateRollupService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+import static com.dev.currencyexchange.logging.SampledLogFilter.SAMPLED;
+
+@Service
+@RequiredArgsConstructor
+public class RateRollupServiceImpl implements RateRollupService {
+    private static final Logger LOG = LoggerFactory.getLogger(RateRollupServiceImpl.class);
+
+    private final CurrencyRateRollupRepository currencyRateRollupRepository;
+
+    @Value("${history.max-points:10000}")
+    private int maxPoints;
+
+    @Override
+    @Transactional(readOnly = true)
+    public RateRollupDto getRollups(String currencyCode, RollupGranularity granularity, Instant from, Instant to) {
+        Instant rangeEnd = to != null ? to : Instant.now();
+        Instant rangeStart = from != null ? from : rangeEnd.minus(granularity.getDefaultRange());
+        if (rangeStart.isAfter(rangeEnd)) {
+            throw new IllegalArgumentException("Rollup range start " + rangeStart + " is after end " + rangeEnd);
+        }
+
+        // The bucket containing the range start is included, so a range starting mid-week still gets that week.
+        List<RateRollupBucketDto> buckets = currencyRateRollupRepository
+                .findByCurrencyCodeAndGranularityAndBucketStartBetweenOrderByBucketStartAsc(currencyCode,
+                        granularity, granularity.bucketStart(rangeStart), rangeEnd, Limit.of(maxPoints))
+                .stream()
+                .map(rollup -> RateRollupBucketDto.builder()
+                        .bucketStart(rollup.getBucketStart())
+                        .open(rollup.getOpen())
+                        .high(rollup.getHigh())
+                        .low(rollup.getLow())
+                        .close(rollup.getClose())
+                        .mean(rollup.getMean())
+                        .samples(rollup.getSampleCount())
+                        .build())
+                .toList();
+
+        LOG.info(SAMPLED, "Found {} {} rollup buckets for currency {} between {} and {}", buckets.size(), granularity,
+                currencyCode, rangeStart, rangeEnd);
+        return RateRollupDto.builder()
+                .currencyCode(currencyCode)
+                .granularity(granularity)
+                .from(rangeStart)
+                .to(rangeEnd)
+                .buckets(buckets)
+                .build();
+    }
+}
@@ -0,0 +1,266 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.config.TaskExecutors;
+import com.dev.currencyexchange.dto.RateUpdateDto;
+import com.dev.currencyexchange.event.RatesSnapshotPublishedEvent;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.service.CurrencyRatesService;
+import com.dev.currencyexchange.service.RateStreamService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes rate updates to SSE subscribers. Emitters are completed asynchronously by the servlet container, so idle
+ * subscribers hold no thread; each refresh is serialized once per distinct currency filter and written out by a
+ * small fan-out pool. Every subscriber has at most one update and one heartbeat in flight: a heartbeat is skipped
+ * while any write is still pending, and a subscriber that has not taken the previous update when the next one
+ * arrives is closed, so it reconnects and starts over from a fresh snapshot. A pending heartbeat never counts against
+ * a subscriber. The pool's queue is bounded, and a subscriber whose write it rejects is closed as well.
+ */
+@Service
+@RequiredArgsConstructor
+public class RateStreamServiceImpl implements RateStreamService {
+    private static final Logger LOG = LoggerFactory.getLogger(RateStreamServiceImpl.class);
+    private static final String SNAPSHOT_EVENT = "snapshot";
+    private static final String UPDATE_EVENT = "rates";
+    private static final String NO_PAYLOAD = "";
+
+    private final CurrencyRatesService currencyRatesService;
+    private final ObjectMapper objectMapper;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    // Slots are reserved before a subscription is added, so concurrent subscribes cannot exceed the limit.
+    private final AtomicInteger reservedSlots = new AtomicInteger();
+
+    @Value("${rates.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${rates.stream.timeout:3600000}")
+    private long timeoutMillis;
+
+    @Value("${rates.stream.fanout-threads:4}")
+    private int fanoutThreads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService fanoutExecutor;
+
+    @PostConstruct
+    void start() {
+        // Room for one pending update and one pending heartbeat per subscriber.
+        fanoutExecutor = TaskExecutors.createBounded("rates-stream-", fanoutThreads, 2 * maxSubscribers,
+                virtualThreads);
+    }
+
+    @PreDestroy
+    void stop() {
+        fanoutExecutor.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter().complete());
+        subscriptions.clear();
+        reservedSlots.set(0);
+    }
+
+    @Override
+    public SseEmitter subscribe(Set<String> currencyCodes) {
+        if (!reserveSlot()) {
+            LOG.warn("Rejecting rate stream subscription, limit of {} subscribers reached", maxSubscribers);
+            throw new IllegalStateException("Too many rate stream subscribers");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(emitter,
+                currencyCodes == null ? Set.of() : Set.copyOf(currencyCodes), new AtomicBoolean(), new AtomicBoolean(),
+                new AtomicBoolean());
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(subscription));
+        subscriptions.add(subscription);
+
+        RatesSnapshot snapshot = currencyRatesService.getSnapshot();
+        String payload = toPayload(snapshot, subscription.currencyCodes(), snapshot.getRates());
+        if (!NO_PAYLOAD.equals(payload)) {
+            send(subscription, SNAPSHOT_EVENT, snapshot.getVersion(), payload);
+        }
+        LOG.info("New rate stream subscriber for {}, {} subscribers in total",
+                subscription.currencyCodes().isEmpty() ? "all currencies" : subscription.currencyCodes(),
+                subscriptions.size());
+        return emitter;
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    @EventListener
+    public void onSnapshotPublished(RatesSnapshotPublishedEvent event) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        RatesSnapshot snapshot = event.getSnapshot();
+        Map<String, Double> changedRates = changedRates(event.getPrevious(), snapshot);
+        if (changedRates.isEmpty()) {
+            return;
+        }
+
+        Map<Set<String>, String> payloads = new HashMap<>();
+        for (Subscription subscription : subscriptions) {
+            String payload = payloads.computeIfAbsent(subscription.currencyCodes(),
+                    currencyCodes -> toPayload(snapshot, currencyCodes, changedRates));
+            if (!NO_PAYLOAD.equals(payload)) {
+                dispatch(subscription, true, () -> send(subscription, UPDATE_EVENT, snapshot.getVersion(), payload));
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${rates.stream.heartbeat-interval:30000}")
+    public void sendHeartbeat() {
+        for (Subscription subscription : subscriptions) {
+            dispatch(subscription, false, () -> {
+                try {
+                    subscription.emitter().send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    drop(subscription, e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Hands a write to the fan-out pool. An update still pending when the next one arrives means the subscriber
+     * cannot keep up, so it is closed; a heartbeat is simply skipped while an update or heartbeat is pending.
+     */
+    private void dispatch(Subscription subscription, boolean update, Runnable write) {
+        AtomicBoolean pending = update ? subscription.updatePending() : subscription.heartbeatPending();
+        if (!update && subscription.updatePending().get()) {
+            return;
+        }
+        if (!pending.compareAndSet(false, true)) {
+            if (update && remove(subscription)) {
+                // The emitter is completed by the pending update, so this thread never waits on the slow client.
+                subscription.overrun().set(true);
+                LOG.debug("Closing rate stream subscriber that cannot keep up");
+                if (!pending.get()) {
+                    completeOverrun(subscription);
+                }
+            }
+            return;
+        }
+        try {
+            fanoutExecutor.execute(() -> {
+                try {
+                    write.run();
+                } finally {
+                    pending.set(false);
+                    if (update) {
+                        completeOverrun(subscription);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.set(false);
+            drop(subscription, e);
+        }
+    }
+
+    private static void completeOverrun(Subscription subscription) {
+        if (subscription.overrun().compareAndSet(true, false)) {
+            subscription.emitter().complete();
+        }
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int reserved = reservedSlots.get();
+            if (reserved >= maxSubscribers) {
+                return false;
+            }
+            if (reservedSlots.compareAndSet(reserved, reserved + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean remove(Subscription subscription) {
+        if (subscriptions.remove(subscription)) {
+            reservedSlots.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    static Map<String, Double> changedRates(RatesSnapshot previous, RatesSnapshot current) {
+        return current.changedRates(previous);
+    }
+
+    private String toPayload(RatesSnapshot snapshot, Set<String> currencyCodes, Map<String, Double> rates) {
+        Map<String, Double> filtered = rates;
+        if (!currencyCodes.isEmpty()) {
+            filtered = new HashMap<>();
+            for (String currencyCode : currencyCodes) {
+                Double rate = rates.get(currencyCode);
+                if (rate != null) {
+                    filtered.put(currencyCode, rate);
+                }
+            }
+        }
+        if (filtered.isEmpty()) {
+            return NO_PAYLOAD;
+        }
+
+        try {
+            return objectMapper.writeValueAsString(RateUpdateDto.builder()
+                    .snapshotVersion(snapshot.getVersion())
+                    .baseCurrency(snapshot.getBaseCurrency())
+                    .fetchedAt(snapshot.getFetchedAt())
+                    .rates(filtered)
+                    .build());
+        } catch (JsonProcessingException e) {
+            LOG.error("Failed to serialize rate update for snapshot version {}", snapshot.getVersion(), e);
+            return NO_PAYLOAD;
+        }
+    }
+
+    private void send(Subscription subscription, String eventName, long version, String payload) {
+        try {
+            subscription.emitter().send(SseEmitter.event()
+                    .id(String.valueOf(version))
+                    .name(eventName)
+                    .data(payload, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            drop(subscription, e);
+        }
+    }
+
+    private void drop(Subscription subscription, Exception cause) {
+        if (remove(subscription)) {
+            LOG.debug("Dropping rate stream subscriber: {}", cause.getMessage());
+            subscription.emitter().completeWithError(cause);
+        }
+    }
+
+    private record Subscription(SseEmitter emitter, Set<String> currencyCodes, AtomicBoolean updatePending,
+                                AtomicBoolean heartbeatPending, AtomicBoolean overrun) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.dto.HistoricalRateDto;
+import com.dev.currencyexchange.event.RatesSnapshotPublishedEvent;
+import com.dev.currencyexchange.model.RateTimeline;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.repository.ExchangeRateLogRepository;
+import com.dev.currencyexchange.service.RateTimelineService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers point-in-time rate lookups from memory. The timeline of a currency is loaded from the stored history on
+ * its first lookup and then extended with every published snapshot, so later lookups are a map read and a binary
+ * search. Only currencies quoted by the current snapshot are loaded, which keeps unknown codes from reaching the
+ * database.
+ */
+@Service
+@RequiredArgsConstructor
+public class RateTimelineServiceImpl implements RateTimelineService {
+    private static final Logger LOG = LoggerFactory.getLogger(RateTimelineServiceImpl.class);
+
+    private final ExchangeRateLogRepository exchangeRateLogRepository;
+
+    private final Map<String, RateTimeline> timelines = new ConcurrentHashMap<>();
+    // Serializes appends and the installation of loaded timelines; lookups never take it.
+    private final Object lock = new Object();
+
+    private volatile RatesSnapshot snapshot = RatesSnapshot.empty(null);
+
+    @EventListener
+    public void onSnapshotPublished(RatesSnapshotPublishedEvent event) {
+        RatesSnapshot published = event.getSnapshot();
+        synchronized (lock) {
+            if (!Objects.equals(published.getBaseCurrency(), snapshot.getBaseCurrency())) {
+                // Timelines are quoted against the fetched base and cannot be reused for another one.
+                timelines.clear();
+            }
+            snapshot = published;
+            if (!published.isEmpty()) {
+                timelines.replaceAll((currencyCode, timeline) -> extend(timeline, published, currencyCode));
+            }
+        }
+    }
+
+    @Override
+    public HistoricalRateDto getRateAt(String currencyCode, String baseCurrency, Instant at) {
+        RatesSnapshot current = snapshot;
+        String quoteBase = baseCurrency != null ? baseCurrency : current.getBaseCurrency();
+        Quote rate = quoteAt(current, currencyCode, at);
+        Quote base = quoteAt(current, quoteBase, at);
+
+        Instant effectiveAt = rate.fetchedAt();
+        if (effectiveAt == null || (base.fetchedAt() != null && base.fetchedAt().isAfter(effectiveAt))) {
+            effectiveAt = base.fetchedAt();
+        }
+        return HistoricalRateDto.builder()
+                .currencyCode(currencyCode)
+                .baseCurrency(quoteBase)
+                .at(at)
+                .effectiveAt(effectiveAt)
+                .exchangeRate(rate.rate() / base.rate())
+                .build();
+    }
+
+    private Quote quoteAt(RatesSnapshot current, String currencyCode, Instant at) {
+        if (Objects.equals(currencyCode, current.getBaseCurrency())) {
+            return new Quote(null, 1.0);
+        }
+        RateTimeline timeline = timeline(current, currencyCode);
+        int index = timeline.indexAt(at);
+        if (index < 0) {
+            throw new RuntimeException("Exchange rate not found for currency: " + currencyCode + " at " + at);
+        }
+        return new Quote(timeline.timestampAt(index), timeline.rateAt(index));
+    }
+
+    private RateTimeline timeline(RatesSnapshot current, String currencyCode) {
+        RateTimeline timeline = timelines.get(currencyCode);
+        if (timeline != null) {
+            return timeline;
+        }
+        if (current.getRate(currencyCode) == null) {
+            throw new RuntimeException("Exchange rate not found for currency: " + currencyCode);
+        }
+
+        // Loaded outside the lock so a slow query never holds up snapshot publication.
+        RateTimeline loaded = exchangeRateLogRepository.findTimeline(currencyCode, current.getBaseCurrency());
+        synchronized (lock) {
+            RateTimeline existing = timelines.get(currencyCode);
+            if (existing != null) {
+                return existing;
+            }
+            if (!Objects.equals(current.getBaseCurrency(), snapshot.getBaseCurrency())) {
+                return loaded;
+            }
+            // The latest snapshot covers a refresh published during the load or still queued for the history writer.
+            timeline = extend(loaded, snapshot, currencyCode);
+            timelines.put(currencyCode, timeline);
+        }
+        LOG.info("Indexed {} rate changes of currency {}", timeline.size(), currencyCode);
+        return timeline;
+    }
+
+    private static RateTimeline extend(RateTimeline timeline, RatesSnapshot snapshot, String currencyCode) {
+        Double rate = snapshot.getRate(currencyCode);
+        if (rate == null || snapshot.getFetchedAt() == null) {
+            return timeline;
+        }
+        return timeline.append(snapshot.getFetchedAt(), rate);
+    }
+
+    private record Quote(Instant fetchedAt, double rate) {
+    }
+}
@@ -0,0 +1,190 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.event.RatesSnapshotPublishedEvent;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.repository.RatesClusterRepository;
+import com.dev.currencyexchange.service.CurrencyCatalogService;
+import com.dev.currencyexchange.service.CurrencyRatesService;
+import com.dev.currencyexchange.service.FetchLeaseService;
+import com.dev.currencyexchange.service.RatesReplicationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps every replica on the generation fetched by the lease holder. The leader stores each snapshot it publishes in
+ * {@code rates_generation}; the other replicas poll that row by primary key every {@code rates.cluster.poll-interval}
+ * and publish the rates locally under the same version, so the cluster converges within one poll interval. Generations
+ * are stored on a single background thread, so publication never waits for the database, and a snapshot published
+ * while an earlier one is still being stored replaces it instead of queueing behind it. Each poll also compares the
+ * stored currency catalog version, so currencies added through another replica are picked up within one poll interval.
+ */
+@Service
+@RequiredArgsConstructor
+public class RatesReplicationServiceImpl implements RatesReplicationService {
+    private static final Logger LOG = LoggerFactory.getLogger(RatesReplicationServiceImpl.class);
+
+    private final CurrencyRatesService currencyRatesService;
+    private final CurrencyCatalogService currencyCatalogService;
+    private final FetchLeaseService fetchLeaseService;
+    private final RatesClusterRepository ratesClusterRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${rates.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${base.currency}")
+    private String baseCurrency;
+
+    @Value("${rates.refresh-interval:PT1H}")
+    private Duration refreshInterval;
+
+    private final AtomicReference<RatesSnapshot> pendingGeneration = new AtomicReference<>();
+    private ExecutorService generationWriter;
+
+    // Advanced by both the poll and the generation writer, so it only ever moves forward.
+    private final AtomicLong appliedGeneration = new AtomicLong();
+    private boolean wasLeader;
+    private boolean pollFailing;
+
+    @PostConstruct
+    void start() {
+        // One platform thread, so generations are stored in publication order whatever the thread mode.
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("rates-generation-");
+        threadFactory.setDaemon(true);
+        generationWriter = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    @PreDestroy
+    void stop() {
+        generationWriter.shutdownNow();
+    }
+
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onSnapshotPublished(RatesSnapshotPublishedEvent event) {
+        RatesSnapshot snapshot = event.getSnapshot();
+        if (!enabled || event.isReplicated() || snapshot.isRestored() || snapshot.isEmpty()) {
+            return;
+        }
+        if (pendingGeneration.getAndSet(snapshot) == null) {
+            generationWriter.execute(this::storePendingGeneration);
+        }
+    }
+
+    private void storePendingGeneration() {
+        RatesSnapshot snapshot = pendingGeneration.getAndSet(null);
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            OptionalLong stored = ratesClusterRepository.saveGeneration(FetchLeaseServiceImpl.LEASE_NAME,
+                    fetchLeaseService.getNodeId(), snapshot.getBaseCurrency(), snapshot.getVersion(),
+                    snapshot.getFetchedAt(), objectMapper.writeValueAsString(
+                            new GenerationPayload(snapshot.getRates(), snapshot.getSources())));
+            if (stored.isEmpty()) {
+                LOG.warn("Not propagating snapshot version {}, this replica no longer holds the fetch lease",
+                        snapshot.getVersion());
+                return;
+            }
+            appliedGeneration.accumulateAndGet(stored.getAsLong(), Math::max);
+            LOG.info("Stored snapshot version {} as cluster generation {}", snapshot.getVersion(),
+                    stored.getAsLong());
+        } catch (JsonProcessingException | DataAccessException e) {
+            LOG.warn("Failed to propagate snapshot version {} to other replicas: {}", snapshot.getVersion(),
+                    e.getMessage());
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${rates.cluster.poll-interval:PT5S}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        currencyCatalogService.reloadIfChanged();
+        // The lease is taken and renewed on its own thread; this only reads whether this replica holds it.
+        boolean leader = fetchLeaseService.isLeader();
+        if (!leader || !wasLeader) {
+            // A replica taking over catches up first, so its next fetch continues the cluster version.
+            applyLatestGeneration();
+        }
+        if (leader && !wasLeader && isRefreshOverdue()) {
+            LOG.info("Took over the fetch lease with rates older than {}, fetching now", refreshInterval);
+            currencyRatesService.fetchExchangeRates();
+        }
+        wasLeader = leader;
+    }
+
+    @Override
+    public long getAppliedGeneration() {
+        return appliedGeneration.get();
+    }
+
+    private void applyLatestGeneration() {
+        Optional<RatesClusterRepository.RatesGeneration> newer;
+        try {
+            newer = ratesClusterRepository.findGenerationNewerThan(baseCurrency, appliedGeneration.get());
+        } catch (DataAccessException e) {
+            if (!pollFailing) {
+                pollFailing = true;
+                LOG.warn("Failed to poll the cluster rates generation: {}", e.getMessage());
+            }
+            return;
+        }
+        if (pollFailing) {
+            pollFailing = false;
+            LOG.info("Polling the cluster rates generation works again");
+        }
+        if (newer.isEmpty()) {
+            return;
+        }
+
+        RatesClusterRepository.RatesGeneration generation = newer.get();
+        appliedGeneration.accumulateAndGet(generation.version(), Math::max);
+        GenerationPayload payload;
+        try {
+            payload = objectMapper.readValue(generation.payload(), GenerationPayload.class);
+        } catch (JsonProcessingException e) {
+            LOG.error("Skipping unreadable cluster rates generation {}", generation.version(), e);
+            return;
+        }
+        RatesSnapshot applied = currencyRatesService.applyReplicatedSnapshot(generation.version(), payload.rates(),
+                payload.sources(), generation.fetchedAt());
+        if (applied != null) {
+            LOG.info("Applied cluster generation {} fetched at {} by {}", generation.version(),
+                    generation.fetchedAt(), generation.publishedBy());
+        }
+    }
+
+    private boolean isRefreshOverdue() {
+        RatesSnapshot current = currencyRatesService.getSnapshot();
+        return current.isEmpty() || current.isRestored()
+                || !Instant.now().isBefore(current.getFetchedAt().plus(refreshInterval));
+    }
+
+    record GenerationPayload(Map<String, Double> rates, Map<String, String> sources) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.entity.CurrencyRateLog;
+import com.dev.currencyexchange.event.RatesSnapshotPublishedEvent;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.repository.ExchangeRateLogRepository;
+import com.dev.currencyexchange.service.CurrencyRatesService;
+import com.dev.currencyexchange.service.RatesWarmStartService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Restores the last known rates before the application reports ready, so a restart does not answer 404 until the
+ * first upstream fetch succeeds. The newest of the latest persisted history rows and the local snapshot file wins;
+ * the file is rewritten after every fresh snapshot and covers the case where the database is unreachable at boot.
+ */
+@Service
+@RequiredArgsConstructor
+public class RatesWarmStartServiceImpl implements RatesWarmStartService {
+    private static final Logger LOG = LoggerFactory.getLogger(RatesWarmStartServiceImpl.class);
+
+    private final CurrencyRatesService currencyRatesService;
+    private final ExchangeRateLogRepository exchangeRateLogRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${base.currency}")
+    private String baseCurrency;
+
+    @Value("${rates.warm-start.lookback:P30D}")
+    private Duration lookback;
+
+    @Value("${rates.warm-start.file:}")
+    private String snapshotFile;
+
+    @Override
+    @EventListener(ApplicationStartedEvent.class)
+    public RatesSnapshot warmStart() {
+        SnapshotFile fromHistory = loadFromHistory();
+        SnapshotFile fromFile = loadFromFile();
+        SnapshotFile newest = fromFile == null
+                || (fromHistory != null && !fromHistory.fetchedAt().isBefore(fromFile.fetchedAt()))
+                ? fromHistory
+                : fromFile;
+        if (newest == null) {
+            LOG.warn("No persisted exchange rates found, rates are unavailable until the first fetch");
+            return null;
+        }
+
+        RatesSnapshot restored = currencyRatesService.restoreSnapshot(newest.rates(), newest.sources(),
+                newest.fetchedAt());
+        if (restored == null) {
+            LOG.info("A fresh snapshot was published before warm start, skipping restore");
+            return null;
+        }
+        LOG.info("Restored {} exchange rates fetched at {} as stale snapshot version {}", restored.getRates().size(),
+                restored.getFetchedAt(), restored.getVersion());
+        return restored;
+    }
+
+    @EventListener
+    public void onSnapshotPublished(RatesSnapshotPublishedEvent event) {
+        RatesSnapshot snapshot = event.getSnapshot();
+        if (snapshotFile.isBlank() || snapshot.isRestored() || snapshot.isEmpty()) {
+            return;
+        }
+        Path target = Path.of(snapshotFile).toAbsolutePath();
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            objectMapper.writeValue(temp.toFile(), new SnapshotFile(snapshot.getBaseCurrency(),
+                    snapshot.getFetchedAt(), snapshot.getRates(), snapshot.getSources()));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Failed to write the rates snapshot file {}", target, e);
+        }
+    }
+
+    private SnapshotFile loadFromHistory() {
+        List<CurrencyRateLog> latest;
+        try {
+            latest = exchangeRateLogRepository.findLatestRates(baseCurrency, Instant.now().minus(lookback));
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to load the latest exchange rates from history", e);
+            return null;
+        }
+        if (latest.isEmpty()) {
+            return null;
+        }
+
+        Map<String, Double> rates = new HashMap<>(latest.size());
+        Map<String, String> sources = new HashMap<>(latest.size());
+        Instant fetchedAt = Instant.MIN;
+        for (CurrencyRateLog entry : latest) {
+            rates.put(entry.getCurrencyCode(), entry.getRate());
+            if (entry.getProvider() != null) {
+                sources.put(entry.getCurrencyCode(), entry.getProvider());
+            }
+            if (entry.getFetchedAt().isAfter(fetchedAt)) {
+                fetchedAt = entry.getFetchedAt();
+            }
+        }
+        return new SnapshotFile(baseCurrency, fetchedAt, rates, sources);
+    }
+
+    private SnapshotFile loadFromFile() {
+        if (snapshotFile.isBlank() || !Files.isReadable(Path.of(snapshotFile))) {
+            return null;
+        }
+        try {
+            SnapshotFile file = objectMapper.readValue(Path.of(snapshotFile).toFile(), SnapshotFile.class);
+            if (!baseCurrency.equals(file.baseCurrency()) || file.fetchedAt() == null || file.rates() == null) {
+                LOG.warn("Ignoring rates snapshot file {} with base currency {}", snapshotFile, file.baseCurrency());
+                return null;
+            }
+            return file;
+        } catch (IOException e) {
+            LOG.warn("Failed to read the rates snapshot file {}", snapshotFile, e);
+            return null;
+        }
+    }
+
+    record SnapshotFile(String baseCurrency, Instant fetchedAt, Map<String, Double> rates,
+                        Map<String, String> sources) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.dev.currencyexchange.web;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read endpoint whose response depends only on the current rates snapshot or currency catalog, so that
+ * {@link ConditionalGetInterceptor} can answer revalidation requests with 304 before the handler runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    Resource value();
+
+    enum Resource {
+        RATES,
+        CATALOG
+    }
+}
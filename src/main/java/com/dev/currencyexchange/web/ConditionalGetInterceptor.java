@@ -0,0 +1,67 @@
+package com.dev.currencyexchange.web;
+
+import com.dev.currencyexchange.event.CurrencyCatalogLoadedEvent;
+import com.dev.currencyexchange.event.RatesSnapshotPublishedEvent;
+import com.dev.currencyexchange.model.CurrencyCatalog;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Answers {@code If-None-Match} / {@code If-Modified-Since} on {@link ConditionalGet} endpoints with 304 before the
+ * controller runs. The current snapshot and catalog are tracked from their publication events, so a revalidation
+ * costs a volatile read and a string comparison and never reaches the service layer.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final HttpCachePolicy httpCachePolicy;
+
+    private volatile RatesSnapshot snapshot;
+    private volatile CurrencyCatalog catalog;
+
+    @EventListener
+    public void onSnapshotPublished(RatesSnapshotPublishedEvent event) {
+        snapshot = event.getSnapshot();
+    }
+
+    @EventListener
+    public void onCatalogLoaded(CurrencyCatalogLoadedEvent event) {
+        catalog = event.getCatalog();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !(HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod()))) {
+            return true;
+        }
+        ConditionalGet conditionalGet = handlerMethod.getMethodAnnotation(ConditionalGet.class);
+        if (conditionalGet == null) {
+            return true;
+        }
+
+        HttpCachePolicy.Validators validators = conditionalGet.value() == ConditionalGet.Resource.RATES
+                ? httpCachePolicy.forRates(snapshot)
+                : httpCachePolicy.forCatalog(catalog);
+        if (validators == null || !validators.isNotModified(request)) {
+            return true;
+        }
+
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        response.setHeader(HttpHeaders.ETAG, validators.entityTag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, validators.cacheControl().getHeaderValue());
+        if (validators.lastModified() != null) {
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, validators.lastModified().toEpochMilli());
+        }
+        return false;
+    }
+}
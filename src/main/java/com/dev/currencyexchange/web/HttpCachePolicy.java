@@ -0,0 +1,97 @@
+package com.dev.currencyexchange.web;
+
+import com.dev.currencyexchange.model.CurrencyCatalog;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Enumeration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Derives HTTP validators and freshness from the rates snapshot and currency catalog. Rates are cacheable until the
+ * next scheduled refresh, counted from the fetch time of the snapshot; the catalog can change at any time and is
+ * only served with an entity tag for revalidation.
+ */
+@Component
+public class HttpCachePolicy {
+
+    private final Duration refreshInterval;
+
+    public HttpCachePolicy(@Value("${rates.refresh-interval:PT1H}") Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Returns the validators of {@code snapshot}, or {@code null} when no rates have been fetched yet.
+     */
+    public Validators forRates(RatesSnapshot snapshot) {
+        if (snapshot == null || snapshot.getEntityTag() == null) {
+            return null;
+        }
+        Duration untilRefresh = Duration.between(Instant.now(), snapshot.getFetchedAt().plus(refreshInterval));
+        long maxAge = untilRefresh.isNegative() ? 0 : untilRefresh.toSeconds();
+        return new Validators(snapshot.getEntityTag(), snapshot.getFetchedAt(),
+                CacheControl.maxAge(maxAge, TimeUnit.SECONDS).cachePublic());
+    }
+
+    public Validators forCatalog(CurrencyCatalog catalog) {
+        if (catalog == null) {
+            return null;
+        }
+        return new Validators(catalog.getEntityTag(), null, CacheControl.noCache());
+    }
+
+    public ResponseEntity.BodyBuilder apply(ResponseEntity.BodyBuilder builder, Validators validators) {
+        if (validators == null) {
+            return builder.cacheControl(CacheControl.noCache());
+        }
+        builder.eTag(validators.entityTag()).cacheControl(validators.cacheControl());
+        if (validators.lastModified() != null) {
+            builder.lastModified(validators.lastModified());
+        }
+        return builder;
+    }
+
+    public record Validators(String entityTag, Instant lastModified, CacheControl cacheControl) {
+
+        /**
+         * Evaluates {@code If-None-Match}, falling back to {@code If-Modified-Since} only when the request carries
+         * no entity tags, as RFC 9110 requires.
+         */
+        public boolean isNotModified(HttpServletRequest request) {
+            Enumeration<String> ifNoneMatch = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+            if (ifNoneMatch != null && ifNoneMatch.hasMoreElements()) {
+                while (ifNoneMatch.hasMoreElements()) {
+                    for (String tag : ifNoneMatch.nextElement().split(",")) {
+                        String candidate = tag.trim();
+                        if (candidate.startsWith("W/")) {
+                            candidate = candidate.substring(2);
+                        }
+                        if (candidate.equals("*") || candidate.equals(entityTag)) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            }
+            if (lastModified == null) {
+                return false;
+            }
+            long ifModifiedSince;
+            try {
+                ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+            // HTTP dates have second precision.
+            return ifModifiedSince >= 0 && lastModified.getEpochSecond() * 1000 <= ifModifiedSince;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.dev.currencyexchange.client;
+
+import com.dev.currencyexchange.config.AppConfig;
+import com.dev.currencyexchange.config.ExchangeClientProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExchangeRatesClientTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final String RATES_BODY = "{\"base\":\"EUR\",\"date\":\"2025-03-01\",\"rates\":{\"USD\":1.08}}";
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile long responseDelayMillis;
+    private ExchangeClientProperties properties;
+    private ExchangeRatesClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/latest", this::handle);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        properties = new ExchangeClientProperties();
+        properties.setReadTimeout(Duration.ofMillis(300));
+        properties.getRetry().setMaxAttempts(3);
+        properties.getRetry().setInitialBackoff(Duration.ofMillis(10));
+        properties.getRetry().setMaxBackoff(Duration.ofMillis(50));
+        properties.getCircuitBreaker().setSlidingWindowSize(3);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(3);
+        properties.getCircuitBreaker().setWaitDurationInOpenState(Duration.ofMinutes(1));
+        client = createClient();
+    }
+
+    private ExchangeRatesClient createClient() {
+        RestTemplate restTemplate = new RestTemplate(
+                new HttpComponentsClientHttpRequestFactory(AppConfig.pooledHttpClient(properties)));
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/latest";
+        return new ExchangeRatesClient("stub", 0, restTemplate, properties, url, "test-key");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        if (responseDelayMillis > 0) {
+            try {
+                Thread.sleep(responseDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        Integer status = statuses.poll();
+        byte[] body = (status == null || status == 200 ? RATES_BODY : "{}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status == null ? 200 : status, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    @Test
+    @DisplayName("Rates are fetched from the upstream API")
+    void testFetchLatestRates_whenUpstreamHealthy_returnsRates() {
+        // Act
+        Map<String, Double> rates = client.fetchLatestRates("EUR", List.of("USD"), TIMEOUT);
+
+        // Assert
+        assertEquals(1.08, rates.get("USD"));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    @DisplayName("Transient server errors are retried")
+    void testFetchLatestRates_whenServerErrorThenSuccess_retries() {
+        // Arrange
+        statuses.add(503);
+        statuses.add(502);
+
+        // Act
+        Map<String, Double> rates = client.fetchLatestRates("EUR", List.of("USD"), TIMEOUT);
+
+        // Assert
+        assertEquals(1.08, rates.get("USD"));
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    @DisplayName("Retries that cannot finish within the timeout are skipped")
+    void testFetchLatestRates_whenRetryDoesNotFitTimeout_doesNotRetry() {
+        // Arrange
+        statuses.add(503);
+
+        // Act & Assert
+        assertThrows(HttpServerErrorException.class,
+                () -> client.fetchLatestRates("EUR", List.of("USD"), Duration.ofSeconds(1)));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    @DisplayName("Retries whose backoff wait would push them past the timeout are skipped")
+    void testFetchLatestRates_whenBackoffDoesNotFitTimeout_doesNotRetry() {
+        // Arrange
+        properties.getRetry().setInitialBackoff(Duration.ofSeconds(3));
+        properties.getRetry().setMaxBackoff(Duration.ofSeconds(3));
+        ExchangeRatesClient slowBackoffClient = createClient();
+        statuses.add(503);
+        long startNanos = System.nanoTime();
+
+        // Act & Assert
+        assertThrows(HttpServerErrorException.class,
+                () -> slowBackoffClient.fetchLatestRates("EUR", List.of("USD"), Duration.ofSeconds(5)));
+        assertEquals(1, requests.get());
+        assertTrue(Duration.ofNanos(System.nanoTime() - startNanos).compareTo(Duration.ofSeconds(3)) < 0);
+    }
+
+    @Test
+    @DisplayName("Client errors are not retried")
+    void testFetchLatestRates_whenClientError_doesNotRetry() {
+        // Arrange
+        statuses.add(401);
+
+        // Act & Assert
+        assertThrows(HttpClientErrorException.class, () -> client.fetchLatestRates("EUR", List.of("USD"), TIMEOUT));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    @DisplayName("Hung responses time out and open the circuit after repeated failed refreshes")
+    void testFetchLatestRates_whenUpstreamHangs_timesOutAndOpensCircuit() {
+        // Arrange
+        responseDelayMillis = 2000;
+
+        // Act
+        assertThrows(ResourceAccessException.class, () -> client.fetchLatestRates("EUR", List.of("USD"), TIMEOUT));
+        CircuitBreaker.State stateAfterOneRefresh = client.getCircuitState();
+        assertThrows(ResourceAccessException.class, () -> client.fetchLatestRates("EUR", List.of("USD"), TIMEOUT));
+        assertThrows(ResourceAccessException.class, () -> client.fetchLatestRates("EUR", List.of("USD"), TIMEOUT));
+        int requestsBeforeOpen = requests.get();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, stateAfterOneRefresh);
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+        assertThrows(CallNotPermittedException.class, () -> client.fetchLatestRates("EUR", List.of("USD"), TIMEOUT));
+        assertEquals(9, requestsBeforeOpen);
+        assertEquals(requestsBeforeOpen, requests.get());
+    }
+}
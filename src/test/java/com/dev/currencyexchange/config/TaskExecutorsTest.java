@@ -0,0 +1,45 @@
+package com.dev.currencyexchange.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskExecutorsTest {
+
+    @Test
+    @DisplayName("Platform mode runs tasks on named daemon threads")
+    void testCreate_whenPlatformThreads_usesNamedDaemonThreads() throws Exception {
+        // Arrange
+        ExecutorService executor = TaskExecutors.create("test-pool-", 2, false);
+
+        // Act
+        Thread thread = executor.submit(Thread::currentThread).get();
+        executor.shutdownNow();
+
+        // Assert
+        assertTrue(thread.getName().startsWith("test-pool-"));
+        assertTrue(thread.isDaemon());
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("Virtual mode runs every task on its own virtual thread")
+    void testCreate_whenVirtualThreads_usesVirtualThreads() throws Exception {
+        // Arrange
+        ExecutorService executor = TaskExecutors.create("test-virtual-", 2, true);
+
+        // Act
+        Thread first = executor.submit(Thread::currentThread).get();
+        String description = first.toString();
+        executor.shutdownNow();
+
+        // Assert
+        assertTrue(first.getName().startsWith("test-virtual-"));
+        assertTrue(description.startsWith("VirtualThread"), description);
+    }
+}
@@ -1,7 +1,10 @@
 package com.dev.currencyexchange.controller;
 
 import com.dev.currencyexchange.dto.CurrencyDto;
+import com.dev.currencyexchange.model.CurrencyCatalog;
+import com.dev.currencyexchange.model.RatesSnapshot;
 import com.dev.currencyexchange.service.CurrencyService;
+import com.dev.currencyexchange.web.HttpCachePolicy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,8 +12,12 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,7 +32,7 @@ public class CurrencyControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        currencyController = new CurrencyController(currencyService);
+        currencyController = new CurrencyController(currencyService, new HttpCachePolicy(Duration.ofHours(1)));
     }
 
     @Test
@@ -36,30 +43,46 @@ public class CurrencyControllerTest {
                 new CurrencyDto("USD", "US Dollar"),
                 new CurrencyDto("EUR", "Euro")
         );
-        when(currencyService.getAllCurrencies()).thenReturn(mockCurrencies);
+        when(currencyService.getCurrencyCatalog()).thenReturn(new CurrencyCatalog(1L, mockCurrencies));
 
         // Act
-        ResponseEntity<List<CurrencyDto>> response = currencyController.getAllCurrencies();
+        ResponseEntity<?> response = currencyController.getAllCurrencies();
 
         // Assert
         assertEquals(200, response.getStatusCode().value());
         assertNotNull(response.getBody());
-        assertEquals(2, response.getBody().size());
-        verify(currencyService, times(1)).getAllCurrencies();
+        assertEquals(2, ((List<?>) response.getBody()).size());
+        verify(currencyService, times(1)).getCurrencyCatalog();
+    }
+
+    @Test
+    @DisplayName("Get all currencies from the pre-serialized catalog body")
+    void testGetAllCurrencies_whenCatalogBodyAvailable_returnsBodyBytes() {
+        // Arrange
+        byte[] body = "[{\"code\":\"USD\",\"name\":\"US Dollar\"}]".getBytes(StandardCharsets.UTF_8);
+        when(currencyService.getCurrencyCatalog())
+                .thenReturn(new CurrencyCatalog(1L, List.of(new CurrencyDto("USD", "US Dollar")), body));
+
+        // Act
+        ResponseEntity<?> response = currencyController.getAllCurrencies();
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        assertSame(body, response.getBody());
     }
 
     @Test
     @DisplayName("No currencies found")
     void testGetAllCurrencies_whenNoCurrenciesFound_throwsException() {
         // Arrange
-        when(currencyService.getAllCurrencies()).thenThrow(new RuntimeException("No currencies found."));
+        when(currencyService.getCurrencyCatalog()).thenThrow(new RuntimeException("No currencies found."));
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
             currencyController.getAllCurrencies();
         });
         assertEquals("No currencies found.", exception.getMessage());
-        verify(currencyService, times(1)).getAllCurrencies();
+        verify(currencyService, times(1)).getCurrencyCatalog();
     }
 
     @Test
@@ -101,16 +124,22 @@ public class CurrencyControllerTest {
         // Arrange
         String currencyCode = "USD";
         Double mockExchangeRate = 1.23;
-        when(currencyService.getExchangeRatesForCurrency(currencyCode)).thenReturn(mockExchangeRate);
+        RatesSnapshot snapshot = new RatesSnapshot(7L, "EUR", Instant.now(), Map.of(currencyCode, mockExchangeRate));
+        when(currencyService.getRatesSnapshot()).thenReturn(snapshot);
+        when(currencyService.getExchangeRateBody(snapshot, null, currencyCode))
+                .thenReturn(mockExchangeRate.toString().getBytes(StandardCharsets.UTF_8));
 
         // Act
-        ResponseEntity<Double> response = currencyController.getExchangeRateForCurrency(currencyCode);
+        ResponseEntity<byte[]> response = currencyController.getExchangeRateForCurrency(currencyCode, null);
 
         // Assert
         assertEquals(200, response.getStatusCode().value());
         assertNotNull(response.getBody());
-        assertEquals(mockExchangeRate, response.getBody());
-        verify(currencyService, times(1)).getExchangeRatesForCurrency(currencyCode);
+        assertEquals(mockExchangeRate, Double.valueOf(new String(response.getBody(), StandardCharsets.UTF_8)));
+        assertEquals("7", response.getHeaders().getFirst(CurrencyController.RATES_VERSION_HEADER));
+        assertEquals(snapshot.getEntityTag(), response.getHeaders().getETag());
+        assertTrue(response.getHeaders().getCacheControl().startsWith("max-age="));
+        verify(currencyService, times(1)).getExchangeRateBody(snapshot, null, currencyCode);
     }
 
     @Test
@@ -118,14 +147,16 @@ public class CurrencyControllerTest {
     void testGetExchangeRateForCurrency_whenNotFound_returnsNotFound() {
         // Arrange
         String currencyCode = "XYZ";
-        when(currencyService.getExchangeRatesForCurrency(currencyCode)).thenThrow(new RuntimeException("Currency not found"));
+        RatesSnapshot snapshot = RatesSnapshot.empty("EUR");
+        when(currencyService.getRatesSnapshot()).thenReturn(snapshot);
+        when(currencyService.getExchangeRateBody(snapshot, null, currencyCode)).thenThrow(new RuntimeException("Currency not found"));
 
         // Act
-        ResponseEntity<Double> response = currencyController.getExchangeRateForCurrency(currencyCode);
+        ResponseEntity<byte[]> response = currencyController.getExchangeRateForCurrency(currencyCode, null);
 
         // Assert
         assertEquals(404, response.getStatusCode().value());
         assertFalse(response.hasBody());
-        verify(currencyService, times(1)).getExchangeRatesForCurrency(currencyCode);
+        verify(currencyService, times(1)).getExchangeRateBody(snapshot, null, currencyCode);
     }
 }
@@ -1,7 +1,18 @@
 package com.dev.currencyexchange.controller;
 
+import com.dev.currencyexchange.dto.ConversionDto;
+import com.dev.currencyexchange.dto.CurrencyBatchItemDto;
+import com.dev.currencyexchange.dto.CurrencyBatchResultDto;
 import com.dev.currencyexchange.dto.CurrencyDto;
+import com.dev.currencyexchange.dto.ExchangeRatesDto;
+import com.dev.currencyexchange.dto.RateEntryDto;
+import com.dev.currencyexchange.event.RatesSnapshotPublishedEvent;
+import com.dev.currencyexchange.exception.CurrencyAlreadyExistsException;
+import com.dev.currencyexchange.model.CurrencyCatalog;
+import com.dev.currencyexchange.model.RatesSnapshot;
 import com.dev.currencyexchange.service.CurrencyService;
+import com.dev.currencyexchange.web.ConditionalGetInterceptor;
+import com.dev.currencyexchange.web.HttpCachePolicy;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -9,24 +20,35 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @WebMvcTest(controllers = CurrencyController.class)
+@Import(HttpCachePolicy.class)
 class CurrencyControllerWebLayerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ConditionalGetInterceptor conditionalGetInterceptor;
+
     @MockBean
     CurrencyService currencyService;
 
@@ -58,6 +80,52 @@ class CurrencyControllerWebLayerTest {
 
     }
 
+    @Test
+    @DisplayName("Adding an existing currency returns 409 Conflict")
+    void testAddCurrency_whenCurrencyExists_returnsConflict() throws Exception {
+        // Arrange
+        CurrencyDto currencyDto = new CurrencyDto("USD", "US Dollar");
+        when(currencyService.addCurrency(any(CurrencyDto.class))).thenThrow(new CurrencyAlreadyExistsException("USD"));
+
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.post("/currencies")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(currencyDto));
+
+        // Act
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        // Assert
+        assertEquals(409, mvcResult.getResponse().getStatus());
+    }
+
+    @Test
+    @DisplayName("Currencies can be added in one batch")
+    void testAddCurrencies_whenBatchProvided_returnsStatusPerItem() throws Exception {
+        // Arrange
+        List<CurrencyDto> batch = List.of(new CurrencyDto("USD", "US Dollar"), new CurrencyDto("GB", "Pound"));
+        CurrencyBatchResultDto result = CurrencyBatchResultDto.of(List.of(CurrencyBatchItemDto.created("USD"),
+                CurrencyBatchItemDto.invalid("GB", "Currency code must consist of three letters.")));
+
+        when(currencyService.addCurrencies(batch)).thenReturn(result);
+
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.post("/currencies/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(batch));
+
+        // Act
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        CurrencyBatchResultDto returnedResult = new ObjectMapper()
+                .readValue(mvcResult.getResponse().getContentAsString(), CurrencyBatchResultDto.class);
+
+        // Assert
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        assertEquals(1, returnedResult.getCreated());
+        assertEquals(1, returnedResult.getInvalid());
+        assertEquals(CurrencyBatchItemDto.Status.INVALID, returnedResult.getItems().get(1).getStatus());
+    }
+
     @Test
     @DisplayName("All currencies can be retrieved")
     void testGetAllCurrencies_returnsListOfCurrencies() throws Exception {
@@ -67,7 +135,8 @@ class CurrencyControllerWebLayerTest {
                 new CurrencyDto("EUR", "Euro")
         );
 
-        when(currencyService.getAllCurrencies()).thenReturn(currencyList);
+        when(currencyService.getCurrencyCatalog())
+                .thenReturn(new CurrencyCatalog(1L, currencyList, new ObjectMapper().writeValueAsBytes(currencyList)));
 
         RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/currencies")
                 .accept(MediaType.APPLICATION_JSON);
@@ -83,6 +152,7 @@ class CurrencyControllerWebLayerTest {
         assertEquals(2, returnedCurrencies.size(), "The returned currency list size is incorrect");
         assertEquals("USD", returnedCurrencies.get(0).getCode(), "First currency code is incorrect");
         assertEquals("US Dollar", returnedCurrencies.get(0).getName(), "First currency name is incorrect");
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, mvcResult.getResponse().getContentType());
     }
 
     @Test
@@ -91,8 +161,11 @@ class CurrencyControllerWebLayerTest {
         // Arrange
         String currencyCode = "USD";
         double exchangeRate = 1.23;
+        RatesSnapshot snapshot = new RatesSnapshot(3L, "EUR", Instant.now(), Map.of(currencyCode, exchangeRate));
 
-        when(currencyService.getExchangeRatesForCurrency(currencyCode)).thenReturn(exchangeRate);
+        when(currencyService.getRatesSnapshot()).thenReturn(snapshot);
+        when(currencyService.getExchangeRateBody(snapshot, null, currencyCode))
+                .thenReturn(new ObjectMapper().writeValueAsBytes(exchangeRate));
 
         RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/currencies/{currencyCode}", currencyCode)
                 .accept(MediaType.APPLICATION_JSON);
@@ -104,6 +177,10 @@ class CurrencyControllerWebLayerTest {
 
         // Assert
         assertEquals(exchangeRate, returnedExchangeRate, "The returned exchange rate is incorrect");
+        assertEquals("1.23", responseBodyAsString);
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, mvcResult.getResponse().getContentType());
+        assertEquals("3", mvcResult.getResponse().getHeader(CurrencyController.RATES_VERSION_HEADER),
+                "The returned snapshot version is incorrect");
     }
 
     @Test
@@ -111,8 +188,10 @@ class CurrencyControllerWebLayerTest {
     void testGetExchangeRateForCurrency_whenCurrencyDoesNotExist_returnsNotFound() throws Exception {
         // Arrange
         String currencyCode = "ABC";
+        RatesSnapshot snapshot = RatesSnapshot.empty("EUR");
 
-        when(currencyService.getExchangeRatesForCurrency(currencyCode)).thenThrow(new RuntimeException("Currency not found"));
+        when(currencyService.getRatesSnapshot()).thenReturn(snapshot);
+        when(currencyService.getExchangeRateBody(snapshot, null, currencyCode)).thenThrow(new RuntimeException("Currency not found"));
 
         RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/currencies/{currencyCode}", currencyCode)
                 .accept(MediaType.APPLICATION_JSON);
@@ -124,4 +203,150 @@ class CurrencyControllerWebLayerTest {
         assertEquals(404, mvcResult.getResponse().getStatus(), "Expected HTTP status 404 for non-existent currency");
 
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Amount can be converted between two currencies")
+    void testConvert_whenCurrenciesExist_returnsConversion() throws Exception {
+        // Arrange
+        ConversionDto conversion = new ConversionDto("USD", "JPY", 10.0, 120.0, 1200.0, 4L, false);
+
+        when(currencyService.convert("USD", "JPY", 10.0)).thenReturn(conversion);
+
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/currencies/convert")
+                .param("from", "USD")
+                .param("to", "JPY")
+                .param("amount", "10")
+                .accept(MediaType.APPLICATION_JSON);
+
+        // Act
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        ConversionDto returnedConversion = new ObjectMapper()
+                .readValue(mvcResult.getResponse().getContentAsString(), ConversionDto.class);
+
+        // Assert
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        assertEquals(1200.0, returnedConversion.getResult(), "The converted amount is incorrect");
+        assertEquals("4", mvcResult.getResponse().getHeader(CurrencyController.RATES_VERSION_HEADER));
+    }
+
+    @Test
+    @DisplayName("Conversion with an unknown currency returns 404")
+    void testConvert_whenCurrencyDoesNotExist_returnsNotFound() throws Exception {
+        // Arrange
+        when(currencyService.convert("USD", "ABC", 1.0)).thenThrow(new RuntimeException("Currency not found"));
+
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/currencies/convert")
+                .param("from", "USD")
+                .param("to", "ABC")
+                .accept(MediaType.APPLICATION_JSON);
+
+        // Act
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        // Assert
+        assertEquals(404, mvcResult.getResponse().getStatus(), "Expected HTTP status 404 for unknown currency");
+    }
+
+    @Test
+    @DisplayName("Several exchange rates can be retrieved in one call")
+    void testGetExchangeRates_whenCodesGiven_returnsEntryPerCode() throws Exception {
+        // Arrange
+        ExchangeRatesDto exchangeRates = ExchangeRatesDto.builder()
+                .baseCurrency("EUR")
+                .snapshotVersion(9L)
+                .rates(List.of(RateEntryDto.found("USD", 1.25), RateEntryDto.notFound("ABC")))
+                .build();
+
+        when(currencyService.getRatesSnapshot()).thenReturn(RatesSnapshot.empty("EUR"));
+        when(currencyService.getExchangeRates(null, List.of("USD", "ABC"))).thenReturn(exchangeRates);
+
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/currencies/rates")
+                .param("codes", "USD,ABC")
+                .accept(MediaType.APPLICATION_JSON);
+
+        // Act
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        ExchangeRatesDto returnedRates = new ObjectMapper().findAndRegisterModules()
+                .readValue(mvcResult.getResponse().getContentAsString(), ExchangeRatesDto.class);
+
+        // Assert
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        assertEquals(2, returnedRates.getRates().size(), "Every requested code should have an entry");
+        assertEquals(1.25, returnedRates.getRates().get(0).getRate());
+        assertEquals("ABC", returnedRates.getRates().get(1).getCode());
+        assertEquals("9", mvcResult.getResponse().getHeader(CurrencyController.RATES_VERSION_HEADER));
+    }
+
+    @Test
+    @DisplayName("Exchange rate responses carry validators of the snapshot")
+    void testGetExchangeRateForCurrency_whenSnapshotFetched_returnsValidators() throws Exception {
+        // Arrange
+        Instant fetchedAt = Instant.now();
+        RatesSnapshot snapshot = new RatesSnapshot(3L, "EUR", fetchedAt, Map.of("USD", 1.23));
+
+        when(currencyService.getRatesSnapshot()).thenReturn(snapshot);
+        when(currencyService.getExchangeRateBody(snapshot, null, "USD"))
+                .thenReturn(new ObjectMapper().writeValueAsBytes(1.23));
+
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/currencies/{currencyCode}", "USD")
+                .accept(MediaType.APPLICATION_JSON);
+
+        // Act
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        // Assert
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        assertEquals(snapshot.getEntityTag(), mvcResult.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals(fetchedAt.getEpochSecond() * 1000,
+                mvcResult.getResponse().getDateHeader(HttpHeaders.LAST_MODIFIED));
+        String cacheControl = mvcResult.getResponse().getHeader(HttpHeaders.CACHE_CONTROL);
+        assertTrue(cacheControl.contains("public") && cacheControl.contains("max-age="), cacheControl);
+    }
+
+    @Test
+    @DisplayName("Revalidation of the current snapshot returns 304 without calling the service")
+    void testGetExchangeRateForCurrency_whenETagMatches_returnsNotModified() throws Exception {
+        // Arrange
+        RatesSnapshot snapshot = new RatesSnapshot(3L, "EUR", Instant.now(), Map.of("USD", 1.23));
+        conditionalGetInterceptor.onSnapshotPublished(new RatesSnapshotPublishedEvent(snapshot,
+                RatesSnapshot.empty("EUR")));
+
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/currencies/{currencyCode}", "USD")
+                .header(HttpHeaders.IF_NONE_MATCH, snapshot.getEntityTag())
+                .accept(MediaType.APPLICATION_JSON);
+
+        // Act
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        // Assert
+        assertEquals(304, mvcResult.getResponse().getStatus());
+        assertEquals(snapshot.getEntityTag(), mvcResult.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals(0, mvcResult.getResponse().getContentLength());
+        verify(currencyService, never()).getRatesSnapshot();
+    }
+
+    @Test
+    @DisplayName("Revalidation of an older snapshot returns the current rates")
+    void testGetExchangeRates_whenETagIsOutdated_returnsBody() throws Exception {
+        // Arrange
+        RatesSnapshot previous = new RatesSnapshot(3L, "EUR", Instant.now().minusSeconds(3600), Map.of("USD", 1.2));
+        RatesSnapshot snapshot = new RatesSnapshot(4L, "EUR", Instant.now(), Map.of("USD", 1.23))
+                .withResponseBodies(Map.of(), "{\"USD\":1.23}".getBytes());
+        conditionalGetInterceptor.onSnapshotPublished(new RatesSnapshotPublishedEvent(snapshot, previous));
+
+        when(currencyService.getRatesSnapshot()).thenReturn(snapshot);
+        when(currencyService.getAllExchangeRatesBody(snapshot, null)).thenReturn(snapshot.getAllRatesBody());
+
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/currencies/rates")
+                .header(HttpHeaders.IF_NONE_MATCH, previous.getEntityTag())
+                .accept(MediaType.APPLICATION_JSON);
+
+        // Act
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        // Assert
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        assertEquals("{\"USD\":1.23}", mvcResult.getResponse().getContentAsString());
+        assertEquals(snapshot.getEntityTag(), mvcResult.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+}
@@ -0,0 +1,62 @@
+package com.dev.currencyexchange.health;
+
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.service.CurrencyRatesService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RatesSnapshotHealthIndicatorTest {
+    @Mock
+    private CurrencyRatesService currencyRatesService;
+
+    @Spy
+    private ExchangeRateMetrics exchangeRateMetrics = new ExchangeRateMetrics(new SimpleMeterRegistry(), Duration.ofHours(2));
+
+    @InjectMocks
+    private RatesSnapshotHealthIndicator healthIndicator;
+
+    @Test
+    @DisplayName("Instance is not ready before any snapshot is served")
+    void testHealth_whenNoSnapshot_isOutOfService() {
+        // Arrange
+        when(currencyRatesService.getSnapshot()).thenReturn(RatesSnapshot.empty("EUR"));
+
+        // Act
+        Health health = healthIndicator.health();
+
+        // Assert
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+    }
+
+    @Test
+    @DisplayName("Restored snapshot makes the instance ready but stale")
+    void testHealth_whenSnapshotRestored_isUpAndStale() {
+        // Arrange
+        when(currencyRatesService.getSnapshot())
+                .thenReturn(new RatesSnapshot(1L, "EUR", Instant.now(), Map.of("USD", 1.1)).asRestored());
+
+        // Act
+        Health health = healthIndicator.health();
+
+        // Assert
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(true, health.getDetails().get("restored"));
+    }
+}
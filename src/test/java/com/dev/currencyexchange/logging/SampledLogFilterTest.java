@@ -0,0 +1,67 @@
+package com.dev.currencyexchange.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampledLogFilterTest {
+    private final SampledLogFilter filter = new SampledLogFilter();
+    private final Logger logger = new LoggerContext().getLogger(SampledLogFilterTest.class);
+
+    @Test
+    @DisplayName("Sampled info events are dropped at a zero rate")
+    void testDecide_whenRateZero_deniesSampledInfo() {
+        // Arrange
+        filter.setRate(0.0);
+
+        // Act
+        FilterReply reply = filter.decide(SampledLogFilter.SAMPLED, logger, Level.INFO, "ok", null, null);
+
+        // Assert
+        assertEquals(FilterReply.DENY, reply);
+    }
+
+    @Test
+    @DisplayName("Warnings, errors and unmarked events are never sampled away")
+    void testDecide_whenWarnOrUnmarked_keepsEvent() {
+        // Arrange
+        filter.setRate(0.0);
+
+        // Act & Assert
+        assertEquals(FilterReply.NEUTRAL,
+                filter.decide(SampledLogFilter.SAMPLED, logger, Level.WARN, "warn", null, null));
+        assertEquals(FilterReply.NEUTRAL,
+                filter.decide(SampledLogFilter.SAMPLED, logger, Level.ERROR, "error", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, "plain", null, null));
+    }
+
+    @Test
+    @DisplayName("A partial rate keeps roughly that fraction of sampled events")
+    void testDecide_whenPartialRate_keepsFraction() {
+        // Arrange
+        filter.setRate(0.25);
+
+        // Act
+        int kept = 0;
+        for (int i = 0; i < 20_000; i++) {
+            if (filter.decide(SampledLogFilter.SAMPLED, logger, Level.INFO, "ok", null, null) == FilterReply.NEUTRAL) {
+                kept++;
+            }
+        }
+
+        // Assert
+        assertTrue(kept > 4_000 && kept < 6_000, "kept " + kept + " of 20000");
+    }
+
+    @Test
+    @DisplayName("Rates outside [0, 1] are rejected")
+    void testSetRate_whenOutOfRange_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> filter.setRate(1.5));
+        assertThrows(IllegalArgumentException.class, () -> filter.setRate(-0.1));
+    }
+}
@@ -0,0 +1,58 @@
+package com.dev.currencyexchange.metrics;
+
+import com.dev.currencyexchange.event.RatesSnapshotPublishedEvent;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExchangeRateMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExchangeRateMetrics exchangeRateMetrics = new ExchangeRateMetrics(meterRegistry, Duration.ofHours(2));
+
+    @Test
+    @DisplayName("Snapshot is stale before the first refresh")
+    void testIsStale_whenNoSnapshotPublished_returnsTrue() {
+        // Act & Assert
+        assertTrue(exchangeRateMetrics.isStale());
+        assertEquals(1.0, meterRegistry.get("exchange.rates.snapshot.stale").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Fresh snapshot is not stale and old snapshot is")
+    void testIsStale_whenSnapshotPublished_reflectsSnapshotAge() {
+        // Arrange
+        RatesSnapshot fresh = new RatesSnapshot(1L, "EUR", Instant.now(), Map.of("USD", 1.1));
+        RatesSnapshot old = new RatesSnapshot(2L, "EUR", Instant.now().minus(Duration.ofHours(3)), Map.of("USD", 1.1));
+
+        // Act
+        exchangeRateMetrics.onSnapshotPublished(new RatesSnapshotPublishedEvent(fresh, RatesSnapshot.empty("EUR")));
+        boolean freshStale = exchangeRateMetrics.isStale();
+        exchangeRateMetrics.onSnapshotPublished(new RatesSnapshotPublishedEvent(old, fresh));
+
+        // Assert
+        assertFalse(freshStale);
+        assertTrue(exchangeRateMetrics.isStale());
+        assertEquals(2.0, meterRegistry.get("exchange.rates.snapshot.version").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Cache accesses are counted per cache and result")
+    void testRecordCacheAccess_countsHitsAndMisses() {
+        // Act
+        exchangeRateMetrics.recordCacheAccess(ExchangeRateMetrics.CACHE_CATALOG, true);
+        exchangeRateMetrics.recordCacheAccess(ExchangeRateMetrics.CACHE_CATALOG, true);
+        exchangeRateMetrics.recordCacheAccess(ExchangeRateMetrics.CACHE_CATALOG, false);
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("exchange.cache.requests").tags("cache", "catalog", "result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("exchange.cache.requests").tags("cache", "catalog", "result", "miss").counter().count());
+    }
+}
@@ -0,0 +1,53 @@
+package com.dev.currencyexchange.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrossRateMatrixTest {
+
+    @Test
+    @DisplayName("Cross rates are derived from the base currency rates")
+    void testOf_whenRatesProvided_buildsCrossRates() {
+        // Arrange
+        CrossRateMatrix matrix = CrossRateMatrix.of("EUR", Map.of("USD", 1.25, "JPY", 150.0));
+
+        // Act
+        int usd = matrix.indexOf("USD");
+        int jpy = matrix.indexOf("JPY");
+        int eur = matrix.indexOf("EUR");
+
+        // Assert
+        assertEquals(3, matrix.size());
+        assertEquals(120.0, matrix.rate(usd, jpy), 1e-9);
+        assertEquals(1.25, matrix.rate(eur, usd), 1e-9);
+        assertEquals(0.8, matrix.rate(usd, eur), 1e-9);
+        assertEquals(1.0, matrix.rate(jpy, jpy), 1e-9);
+        assertEquals("JPY", matrix.codeAt(jpy));
+    }
+
+    @Test
+    @DisplayName("Unknown, malformed and non-positive entries are not indexed")
+    void testIndexOf_whenCodeIsUnknownOrMalformed_returnsMinusOne() {
+        // Arrange
+        CrossRateMatrix matrix = CrossRateMatrix.of("EUR", Map.of("USD", 1.25, "usd1", 2.0, "XXX", 0.0));
+
+        // Act & Assert
+        assertEquals(-1, matrix.indexOf("GBP"));
+        assertEquals(-1, matrix.indexOf("usd"));
+        assertEquals(-1, matrix.indexOf("XXX"));
+        assertEquals(-1, matrix.indexOf(null));
+        assertEquals(2, matrix.size());
+    }
+
+    @Test
+    @DisplayName("Empty matrix resolves no currencies")
+    void testEmpty_returnsMatrixWithoutCurrencies() {
+        // Act & Assert
+        assertEquals(0, CrossRateMatrix.empty().size());
+        assertEquals(-1, CrossRateMatrix.empty().indexOf("EUR"));
+    }
+}
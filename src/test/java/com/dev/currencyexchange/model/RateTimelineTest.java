@@ -0,0 +1,62 @@
+package com.dev.currencyexchange.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateTimelineTest {
+    private static final Instant START = Instant.parse("2025-03-01T00:00:00Z");
+
+    @Test
+    @DisplayName("The rate in effect is the last change at or before the instant")
+    void testIndexAt_whenBetweenChanges_returnsPreviousChange() {
+        // Arrange
+        RateTimeline timeline = RateTimeline.builder()
+                .add(START, 1.08)
+                .add(START.plusSeconds(3600), 1.09)
+                .add(START.plusSeconds(7200), 1.10)
+                .build();
+
+        // Act & Assert
+        assertEquals(-1, timeline.indexAt(START.minusSeconds(1)));
+        assertEquals(1.08, timeline.rateAt(timeline.indexAt(START)));
+        assertEquals(1.09, timeline.rateAt(timeline.indexAt(START.plusSeconds(5399))));
+        assertEquals(START.plusSeconds(3600), timeline.timestampAt(timeline.indexAt(START.plusSeconds(5399))));
+        assertEquals(1.10, timeline.rateAt(timeline.indexAt(START.plusSeconds(86400))));
+    }
+
+    @Test
+    @DisplayName("Unchanged and out-of-order rates are not appended")
+    void testAppend_whenRateUnchangedOrOlder_returnsSameTimeline() {
+        // Arrange
+        RateTimeline timeline = RateTimeline.empty().append(START, 1.08);
+
+        // Act & Assert
+        assertSame(timeline, timeline.append(START.plusSeconds(60), 1.08));
+        assertSame(timeline, timeline.append(START.minusSeconds(60), 1.07));
+        assertEquals(1, timeline.size());
+    }
+
+    @Test
+    @DisplayName("Appending does not change what earlier readers of the timeline see")
+    void testAppend_whenArraysShared_keepsEarlierInstanceUnchanged() {
+        // Arrange
+        RateTimeline timeline = RateTimeline.empty();
+        for (int i = 0; i < 20; i++) {
+            timeline = timeline.append(START.plusSeconds(i * 60L), 1.0 + i);
+        }
+        RateTimeline earlier = timeline;
+
+        // Act
+        RateTimeline later = earlier.append(START.plusSeconds(20 * 60L), 99.0);
+
+        // Assert
+        assertEquals(20, earlier.size());
+        assertEquals(20.0, earlier.rateAt(earlier.indexAt(START.plusSeconds(86400))));
+        assertEquals(21, later.size());
+        assertEquals(99.0, later.rateAt(later.indexAt(START.plusSeconds(86400))));
+    }
+}
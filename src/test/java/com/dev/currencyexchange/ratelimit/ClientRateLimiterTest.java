@@ -0,0 +1,158 @@
+package com.dev.currencyexchange.ratelimit;
+
+import com.dev.currencyexchange.config.RateLimitProperties;
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimiterTest {
+    private static final RateLimitProperties.Quota QUOTA = new RateLimitProperties.Quota(3, 1.0);
+
+    private final AtomicLong nanoTime = new AtomicLong(1_000_000_000L);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitProperties properties;
+    private ClientRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setCapacity(3);
+        properties.setRefillPerSecond(1.0);
+        properties.setMaxClients(2);
+        properties.setIdleEviction(Duration.ofMinutes(1));
+        rateLimiter = new ClientRateLimiter(properties, new ExchangeRateMetrics(meterRegistry, Duration.ofHours(2)),
+                nanoTime::get);
+    }
+
+    @Test
+    @DisplayName("A client can burst up to its capacity and then has to wait for a refill")
+    void testTryAcquire_whenBurstExceedsCapacity_returnsWaitTime() {
+        // Act
+        long first = rateLimiter.tryAcquire("ip:1", QUOTA);
+        long second = rateLimiter.tryAcquire("ip:1", QUOTA);
+        long third = rateLimiter.tryAcquire("ip:1", QUOTA);
+        long fourth = rateLimiter.tryAcquire("ip:1", QUOTA);
+        nanoTime.addAndGet(fourth);
+        long afterRefill = rateLimiter.tryAcquire("ip:1", QUOTA);
+
+        // Assert
+        assertEquals(0, first + second + third);
+        assertEquals(TimeUnit.SECONDS.toNanos(1), fourth);
+        assertEquals(0, afterRefill);
+    }
+
+    @Test
+    @DisplayName("Clients are limited independently of each other")
+    void testTryAcquire_whenOtherClientThrottled_allowsRequest() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("ip:1", QUOTA);
+        }
+
+        // Act & Assert
+        assertTrue(rateLimiter.tryAcquire("ip:1", QUOTA) > 0);
+        assertEquals(0, rateLimiter.tryAcquire("ip:2", QUOTA));
+    }
+
+    @Test
+    @DisplayName("Idle clients are evicted so memory stays bounded")
+    void testTryAcquire_whenMapFull_evictsIdleClients() {
+        // Arrange
+        rateLimiter.tryAcquire("ip:1", QUOTA);
+        rateLimiter.tryAcquire("ip:2", QUOTA);
+        nanoTime.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        // Act
+        long result = rateLimiter.tryAcquire("ip:3", QUOTA);
+
+        // Assert
+        assertEquals(0, result);
+        assertEquals(1, rateLimiter.getClientCount());
+        assertEquals(1.0, meterRegistry.get("exchange.ratelimit.clients").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Clients arriving while the map is full of active clients share the overflow bucket")
+    void testTryAcquire_whenMapFullOfActiveClients_usesOverflowBucket() {
+        // Arrange
+        rateLimiter.tryAcquire("ip:1", QUOTA);
+        rateLimiter.tryAcquire("ip:2", QUOTA);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("ip:new-" + i, QUOTA));
+        }
+        long throttled = rateLimiter.tryAcquire("ip:another", QUOTA);
+
+        // Assert
+        assertEquals(2, rateLimiter.getClientCount());
+        assertTrue(throttled > 0);
+    }
+
+    @Test
+    @DisplayName("New clients trigger at most one eviction scan per interval")
+    void testTryAcquire_whenMapFullRepeatedly_throttlesOnDemandEviction() {
+        // Arrange
+        properties.setIdleEviction(Duration.ofMillis(100));
+        properties.setOnDemandEvictionInterval(Duration.ofSeconds(5));
+        rateLimiter.tryAcquire("ip:1", QUOTA);
+        rateLimiter.tryAcquire("ip:2", QUOTA);
+        rateLimiter.tryAcquire("ip:3", QUOTA);
+        nanoTime.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        // Act
+        rateLimiter.tryAcquire("ip:4", QUOTA);
+        int withinInterval = rateLimiter.getClientCount();
+        nanoTime.addAndGet(Duration.ofSeconds(5).toNanos());
+        rateLimiter.tryAcquire("ip:5", QUOTA);
+
+        // Assert
+        assertEquals(2, withinInterval);
+        assertEquals(1, rateLimiter.getClientCount());
+    }
+
+    @Test
+    @DisplayName("Concurrent requests never take more tokens than the bucket holds")
+    void testTryAcquire_whenContended_grantsExactlyCapacity() throws InterruptedException {
+        // Arrange
+        RateLimitProperties.Quota quota = new RateLimitProperties.Quota(1000, 0.001);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < 500; j++) {
+                    if (rateLimiter.tryAcquire("key:shared", quota) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(1000, granted.get());
+    }
+}
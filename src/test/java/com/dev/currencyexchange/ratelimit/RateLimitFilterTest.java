@@ -0,0 +1,83 @@
+package com.dev.currencyexchange.ratelimit;
+
+import com.dev.currencyexchange.config.RateLimitProperties;
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setCapacity(1);
+        properties.setRefillPerSecond(0.5);
+        properties.setClients(Map.of("partner", new RateLimitProperties.Quota(2, 0.5)));
+        ExchangeRateMetrics metrics = new ExchangeRateMetrics(meterRegistry, Duration.ofHours(2));
+        filter = new RateLimitFilter(new ClientRateLimiter(properties, metrics), properties, metrics);
+    }
+
+    private MockHttpServletResponse perform(String remoteAddress, String apiKey) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/currencies/USD");
+        request.setRemoteAddr(remoteAddress);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    @DisplayName("A client over its quota gets 429 with Retry-After")
+    void testDoFilter_whenQuotaExhausted_returnsTooManyRequests() throws Exception {
+        // Act
+        MockHttpServletResponse first = perform("10.0.0.1", null);
+        MockHttpServletResponse second = perform("10.0.0.1", null);
+
+        // Assert
+        assertEquals(200, first.getStatus());
+        assertEquals(429, second.getStatus());
+        assertEquals("2", second.getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.get("exchange.ratelimit.throttled").tag("client_type", "ip")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("A configured API key gets its own quota independent of the caller's IP")
+    void testDoFilter_whenKnownApiKey_usesKeyQuota() throws Exception {
+        // Act
+        MockHttpServletResponse first = perform("10.0.0.1", "partner");
+        MockHttpServletResponse second = perform("10.0.0.2", "partner");
+        MockHttpServletResponse third = perform("10.0.0.3", "partner");
+
+        // Assert
+        assertEquals(200, first.getStatus());
+        assertEquals(200, second.getStatus());
+        assertEquals(429, third.getStatus());
+    }
+
+    @Test
+    @DisplayName("Unknown API keys are limited per IP, so rotating keys does not bypass the limit")
+    void testDoFilter_whenUnknownApiKey_limitsPerIp() throws Exception {
+        // Act
+        MockHttpServletResponse first = perform("10.0.0.1", "random-1");
+        MockHttpServletResponse second = perform("10.0.0.1", "random-2");
+
+        // Assert
+        assertEquals(200, first.getStatus());
+        assertEquals(429, second.getStatus());
+    }
+}
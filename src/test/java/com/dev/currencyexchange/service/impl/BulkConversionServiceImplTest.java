@@ -0,0 +1,145 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.service.BulkConversionService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkConversionServiceImplTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BulkConversionServiceImpl bulkConversionService = new BulkConversionServiceImpl(objectMapper,
+            new ExchangeRateMetrics(meterRegistry, Duration.ofHours(2)));
+    private final RatesSnapshot snapshot =
+            new RatesSnapshot(5L, "EUR", Instant.now(), Map.of("USD", 1.25, "JPY", 150.0));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bulkConversionService, "maxLineLength", 64);
+    }
+
+    private String convert(BulkConversionService.Format format, String body) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        bulkConversionService.convert(snapshot, format,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("NDJSON lines are converted with the pinned snapshot")
+    void testConvert_whenNdjsonLinesValid_writesResultPerLine() throws IOException {
+        // Act
+        String output = convert(BulkConversionService.Format.NDJSON,
+                "{\"from\":\"EUR\",\"to\":\"USD\",\"amount\":10}\n{\"from\":\"USD\",\"to\":\"JPY\",\"amount\":2.5}\n");
+
+        // Assert
+        String[] lines = output.split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1, first.get("line").asInt());
+        assertEquals(12.5, first.get("result").asDouble(), 1e-9);
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals(120.0, second.get("rate").asDouble(), 1e-9);
+        assertEquals(300.0, second.get("result").asDouble(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Failing lines are reported inline and do not stop the stream")
+    void testConvert_whenSomeLinesInvalid_reportsErrorsInline() throws IOException {
+        // Act
+        String output = convert(BulkConversionService.Format.NDJSON,
+                "{\"from\":\"EUR\",\"to\":\"ABC\",\"amount\":1}\nnot json\n\n{\"from\":\"EUR\",\"to\":\"USD\"}\n"
+                        + "{\"from\":\"EUR\",\"to\":\"USD\",\"amount\":4}");
+
+        // Assert
+        String[] lines = output.split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(objectMapper.readTree(lines[0]).get("error").asText().contains("EUR -> ABC"));
+        assertEquals(2, objectMapper.readTree(lines[1]).get("line").asInt());
+        assertTrue(objectMapper.readTree(lines[1]).has("error"));
+        assertEquals(4, objectMapper.readTree(lines[2]).get("line").asInt());
+        assertTrue(objectMapper.readTree(lines[2]).has("error"));
+        assertEquals(5.0, objectMapper.readTree(lines[3]).get("result").asDouble(), 1e-9);
+        assertEquals(3.0, meterRegistry.get("exchange.conversions.bulk.lines")
+                .tag("outcome", ExchangeRateMetrics.OUTCOME_ERROR).counter().count());
+    }
+
+    @Test
+    @DisplayName("CSV input with a header row is answered with CSV")
+    void testConvert_whenCsvWithHeader_writesCsvResults() throws IOException {
+        // Act
+        String output = convert(BulkConversionService.Format.CSV, "from,to,amount\nEUR,USD,8\n\"USD\",XYZ,1\n");
+
+        // Assert
+        String[] lines = output.split("\n");
+        assertEquals(BulkConversionServiceImpl.CSV_HEADER, lines[0]);
+        assertEquals("2,EUR,USD,8.0,1.25,10.0,", lines[1]);
+        assertTrue(lines[2].startsWith("3,USD,XYZ,,,,"), lines[2]);
+    }
+
+    @Test
+    @DisplayName("Large CSV amounts are written as plain numbers, not in scientific notation")
+    void testConvert_whenCsvAmountLarge_writesPlainNumbers() throws IOException {
+        // Act
+        String output = convert(BulkConversionService.Format.CSV, "EUR,USD,10000000\n");
+
+        // Assert
+        String[] lines = output.split("\n");
+        assertEquals("1,EUR,USD,10000000,1.25,12500000,", lines[1]);
+    }
+
+    @Test
+    @DisplayName("Oversized lines are reported without being buffered whole")
+    void testConvert_whenLineTooLong_reportsErrorAndContinues() throws IOException {
+        // Act
+        String output = convert(BulkConversionService.Format.CSV,
+                "EUR,USD,1\r\n" + "x".repeat(100_000) + "\nEUR,USD,2\r\n");
+
+        // Assert
+        String[] lines = output.split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("1,EUR,USD,1.0,1.25,1.25,", lines[1]);
+        assertTrue(lines[2].startsWith("2,,,,,,Line longer than 64"), lines[2]);
+        assertEquals("3,EUR,USD,2.0,1.25,2.5,", lines[3]);
+    }
+
+    @Test
+    @DisplayName("Lines are split like BufferedReader, including a last line without terminator")
+    void testReadLine_whenSplitAcrossBuffers_returnsWholeLines() throws IOException {
+        // Arrange
+        BulkConversionServiceImpl.BoundedLineReader reader = new BulkConversionServiceImpl.BoundedLineReader(
+                new StringReader("first\r\nsecond line\n\nlast"), 4, 20);
+
+        // Act & Assert
+        assertEquals("first", reader.readLine());
+        assertEquals("second line", reader.readLine());
+        assertEquals("", reader.readLine());
+        assertFalse(reader.isOversized());
+        assertEquals("last", reader.readLine());
+        assertNull(reader.readLine());
+    }
+
+    @Test
+    @DisplayName("CSV lines with the wrong number of fields are rejected")
+    void testParseCsv_whenFieldMissing_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> BulkConversionServiceImpl.parseCsv("EUR,USD"));
+        assertThrows(IllegalArgumentException.class, () -> BulkConversionServiceImpl.parseCsv("EUR,USD,ten"));
+    }
+}
@@ -0,0 +1,121 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.entity.Currency;
+import com.dev.currencyexchange.event.CurrencyCatalogChangedEvent;
+import com.dev.currencyexchange.event.CurrencyCatalogLoadedEvent;
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import com.dev.currencyexchange.model.CurrencyCatalog;
+import com.dev.currencyexchange.repository.CurrencyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurrencyCatalogServiceImplTest {
+
+    @Mock
+    private CurrencyRepository currencyRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private ExchangeRateMetrics exchangeRateMetrics = new ExchangeRateMetrics(new SimpleMeterRegistry(), Duration.ofHours(2));
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private CurrencyCatalogServiceImpl currencyCatalogService;
+
+    @Test
+    @DisplayName("Repeated catalog reads hit the database once")
+    void testGetCatalog_whenCalledRepeatedly_loadsOnce() {
+        // Arrange
+        when(currencyRepository.findAll()).thenReturn(List.of(Currency.builder().code("USD").name("Dollar").build()));
+
+        // Act
+        CurrencyCatalog first = currencyCatalogService.getCatalog();
+        CurrencyCatalog second = currencyCatalogService.getCatalog();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(List.of("USD"), first.getCurrencyCodes());
+        assertEquals("[{\"code\":\"USD\",\"name\":\"Dollar\"}]", new String(first.getBody(), StandardCharsets.UTF_8));
+        verify(currencyRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Catalog is rebuilt with a new version when a currency is added")
+    void testOnCatalogChanged_whenCurrencyAdded_reloadsCatalog() {
+        // Arrange
+        when(currencyRepository.findAll())
+                .thenReturn(List.of(Currency.builder().code("USD").name("Dollar").build()))
+                .thenReturn(List.of(Currency.builder().code("USD").name("Dollar").build(),
+                        Currency.builder().code("GBP").name("Pound").build()));
+        CurrencyCatalog first = currencyCatalogService.getCatalog();
+
+        // Act
+        currencyCatalogService.onCatalogChanged(new CurrencyCatalogChangedEvent("GBP"));
+        CurrencyCatalog second = currencyCatalogService.getCatalog();
+
+        // Assert
+        assertEquals(first.getVersion() + 1, second.getVersion());
+        assertEquals(List.of("USD", "GBP"), second.getCurrencyCodes());
+        assertNotEquals(first.getEntityTag(), second.getEntityTag());
+        verify(eventPublisher).publishEvent(new CurrencyCatalogLoadedEvent(second));
+    }
+
+    @Test
+    @DisplayName("Catalog is reloaded only when the stored catalog version moved")
+    void testReloadIfChanged_whenStoredVersionMoves_reloadsCatalog() {
+        // Arrange
+        when(currencyRepository.findCatalogVersion()).thenReturn(3L, 3L, 4L, 4L);
+        when(currencyRepository.findAll())
+                .thenReturn(List.of(Currency.builder().code("USD").name("Dollar").build()))
+                .thenReturn(List.of(Currency.builder().code("USD").name("Dollar").build(),
+                        Currency.builder().code("GBP").name("Pound").build()));
+        CurrencyCatalog first = currencyCatalogService.getCatalog();
+
+        // Act
+        CurrencyCatalog unchanged = currencyCatalogService.reloadIfChanged();
+        CurrencyCatalog changed = currencyCatalogService.reloadIfChanged();
+
+        // Assert
+        assertSame(first, unchanged);
+        assertEquals(List.of("USD", "GBP"), changed.getCurrencyCodes());
+        verify(currencyRepository, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("Loaded catalog is kept when the stored catalog version cannot be read")
+    void testReloadIfChanged_whenVersionUnreadable_keepsCatalog() {
+        // Arrange
+        when(currencyRepository.findCatalogVersion()).thenReturn(1L)
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        when(currencyRepository.findAll()).thenReturn(List.of(Currency.builder().code("USD").name("Dollar").build()));
+        CurrencyCatalog first = currencyCatalogService.getCatalog();
+
+        // Act
+        CurrencyCatalog current = currencyCatalogService.reloadIfChanged();
+
+        // Assert
+        assertSame(first, current);
+        verify(currencyRepository, times(1)).findAll();
+    }
+}
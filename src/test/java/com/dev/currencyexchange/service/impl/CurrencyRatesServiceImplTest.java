@@ -1,87 +1,113 @@
 package com.dev.currencyexchange.service.impl;
 
-import com.dev.currencyexchange.dto.ExchangeRateResponse;
-import com.dev.currencyexchange.entity.Currency;
-import com.dev.currencyexchange.entity.CurrencyRateLog;
-import com.dev.currencyexchange.repository.CurrencyRepository;
-import com.dev.currencyexchange.repository.ExchangeRateLogRepository;
+import com.dev.currencyexchange.dto.CurrencyDto;
+import com.dev.currencyexchange.event.RatesSnapshotPublishedEvent;
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import com.dev.currencyexchange.model.AggregatedRates;
+import com.dev.currencyexchange.model.CurrencyCatalog;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.service.CurrencyCatalogService;
+import com.dev.currencyexchange.service.FetchLeaseService;
+import com.dev.currencyexchange.service.RateProviderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class CurrencyRatesServiceImplTest {
 
     @Mock
-    private CurrencyRepository currencyRepository;
+    private CurrencyCatalogService currencyCatalogService;
 
     @Mock
-    private ExchangeRateLogRepository exchangeRateLogRepository;
+    private RateProviderService rateProviderService;
 
     @Mock
-    private RestTemplate restTemplate;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Spy
+    private ExchangeRateMetrics exchangeRateMetrics = new ExchangeRateMetrics(new SimpleMeterRegistry(), Duration.ofHours(2));
+
+    @Mock
+    private FetchLeaseService fetchLeaseService;
 
     @InjectMocks
     private CurrencyRatesServiceImpl currencyRatesService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(fetchLeaseService.isLeader()).thenReturn(true);
+    }
+
     @Test
     @DisplayName("Fetch exchange rates successfully when currencies exist")
     void testFetchExchangeRates_whenCurrenciesExist_returnsExchangeRates() {
         // Arrange
-        Currency currency = Currency.builder().code("EUR").name("Euro").build();
-        when(currencyRepository.findAll()).thenReturn(List.of(currency));
+        when(currencyCatalogService.reloadIfChanged())
+                .thenReturn(new CurrencyCatalog(1L, List.of(new CurrencyDto("EUR", "Euro"))));
 
-        ExchangeRateResponse response = new ExchangeRateResponse();
-        response.setRates(Map.of("EUR", 0.85));
-        ResponseEntity<ExchangeRateResponse> entity = new ResponseEntity<>(response, HttpStatus.OK);
-        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), eq(null), eq(ExchangeRateResponse.class)))
-                .thenReturn(entity);
+        when(rateProviderService.fetchLatestRates(any(), anyList()))
+                .thenReturn(new AggregatedRates(Map.of("EUR", 0.85), Map.of("EUR", "primary"),
+                        Map.of("primary", ExchangeRateMetrics.OUTCOME_SUCCESS)));
 
         // Act
         currencyRatesService.fetchExchangeRates();
 
         // Assert
         assertEquals(0.85, currencyRatesService.getExchangeRates().get("EUR"));
-        verify(exchangeRateLogRepository, times(1)).save(any(CurrencyRateLog.class));
+        assertEquals("0.85", new String(currencyRatesService.getSnapshot().getRateBody("EUR"), StandardCharsets.UTF_8));
+        assertNotNull(currencyRatesService.getSnapshot().getAllRatesBody());
+        assertEquals("primary", currencyRatesService.getSnapshot().getSource("EUR"));
+        verify(exchangeRateMetrics).recordFetch(any(), eq(ExchangeRateMetrics.OUTCOME_SUCCESS));
+        verify(exchangeRateMetrics).recordRatesFetched(1);
+        verify(eventPublisher).publishEvent(any(RatesSnapshotPublishedEvent.class));
     }
 
     @Test
     @DisplayName("Handle empty currency list when fetching exchange rates")
     void testFetchExchangeRates_whenCurrencyListIsEmpty_returnsEmptyExchangeRates() {
         // Arrange
-        when(currencyRepository.findAll()).thenReturn(Collections.emptyList());
+        when(currencyCatalogService.reloadIfChanged()).thenReturn(new CurrencyCatalog(1L, Collections.emptyList()));
 
         // Act
         currencyRatesService.fetchExchangeRates();
 
         // Assert
         assertTrue(currencyRatesService.getExchangeRates().isEmpty());
-        verifyNoInteractions(restTemplate, exchangeRateLogRepository);
+        verifyNoInteractions(rateProviderService);
     }
 
     @Test
     @DisplayName("Handle API error when fetching exchange rates")
     void testFetchExchangeRates_whenApiErrorOccurs_returnsEmptyExchangeRates() {
         // Arrange
-        Currency currency = Currency.builder().code("EUR").name("Euro").build();
-        when(currencyRepository.findAll()).thenReturn(List.of(currency));
+        when(currencyCatalogService.reloadIfChanged())
+                .thenReturn(new CurrencyCatalog(1L, List.of(new CurrencyDto("EUR", "Euro"))));
 
-        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), eq(null), eq(ExchangeRateResponse.class)))
+        when(rateProviderService.fetchLatestRates(any(), anyList()))
                 .thenThrow(new RuntimeException("API error"));
 
         // Act
@@ -89,14 +115,14 @@ class CurrencyRatesServiceImplTest {
 
         // Assert
         assertTrue(currencyRatesService.getExchangeRates().isEmpty());
-        verifyNoInteractions(exchangeRateLogRepository);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     @DisplayName("Get exchange rate for currency when rate is found")
     void testGetExchangeRatesForCurrency_whenRateIsFound_returnsExchangeRate() {
         // Arrange
-        currencyRatesService.getExchangeRates().put("EUR", 0.85);
+        currencyRatesService.publishSnapshot(Map.of("EUR", 0.85), Instant.now());
 
         // Act
         Double rate = currencyRatesService.getExchangeRatesForCurrency("EUR");
@@ -114,4 +140,127 @@ class CurrencyRatesServiceImplTest {
         // Assert
         assertNull(rate);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Publishing a snapshot increments the version and leaves previous snapshots untouched")
+    void testPublishSnapshot_whenPublishedTwice_incrementsVersion() {
+        // Arrange
+        RatesSnapshot first = currencyRatesService.publishSnapshot(Map.of("USD", 1.1), Instant.now());
+
+        // Act
+        RatesSnapshot second = currencyRatesService.publishSnapshot(Map.of("GBP", 0.85), Instant.now());
+
+        // Assert
+        assertEquals(first.getVersion() + 1, second.getVersion());
+        assertEquals(1.1, first.getRate("USD"));
+        assertNull(first.getRate("GBP"));
+        assertSame(second, currencyRatesService.getSnapshot());
+        assertNull(currencyRatesService.getExchangeRatesForCurrency("USD"));
+        verify(eventPublisher).publishEvent(new RatesSnapshotPublishedEvent(second, first));
+    }
+
+    @Test
+    @DisplayName("Failed refresh keeps serving the previously published snapshot")
+    void testFetchExchangeRates_whenApiErrorOccursAfterPublish_keepsPreviousSnapshot() {
+        // Arrange
+        RatesSnapshot published = currencyRatesService.publishSnapshot(Map.of("USD", 1.1), Instant.now());
+        when(currencyCatalogService.reloadIfChanged())
+                .thenReturn(new CurrencyCatalog(1L, List.of(new CurrencyDto("USD", "Dollar"))));
+        when(rateProviderService.fetchLatestRates(any(), anyList()))
+                .thenThrow(new RuntimeException("API error"));
+
+        // Act
+        currencyRatesService.fetchExchangeRates();
+
+        // Assert
+        assertSame(published, currencyRatesService.getSnapshot());
+        assertEquals(1.1, currencyRatesService.getExchangeRatesForCurrency("USD"));
+    }
+
+    @Test
+    @DisplayName("Open circuits on every provider keep serving the last good snapshot")
+    void testFetchExchangeRates_whenCircuitOpen_keepsPreviousSnapshot() {
+        // Arrange
+        RatesSnapshot published = currencyRatesService.publishSnapshot(Map.of("USD", 1.1), Instant.now());
+        when(currencyCatalogService.reloadIfChanged())
+                .thenReturn(new CurrencyCatalog(1L, List.of(new CurrencyDto("USD", "Dollar"))));
+        when(rateProviderService.fetchLatestRates(any(), anyList()))
+                .thenReturn(new AggregatedRates(Map.of(), Map.of(),
+                        Map.of("primary", ExchangeRateMetrics.OUTCOME_CIRCUIT_OPEN)));
+
+        // Act
+        currencyRatesService.fetchExchangeRates();
+
+        // Assert
+        assertSame(published, currencyRatesService.getSnapshot());
+        verify(exchangeRateMetrics).recordFetch(any(), eq(ExchangeRateMetrics.OUTCOME_CIRCUIT_OPEN));
+        verify(eventPublisher, times(1)).publishEvent(any(RatesSnapshotPublishedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Restored snapshot is served as stale until a fresh fetch replaces it")
+    void testRestoreSnapshot_whenNothingServed_publishesRestoredSnapshot() {
+        // Arrange
+        Instant fetchedAt = Instant.now().minus(Duration.ofHours(3));
+
+        // Act
+        RatesSnapshot restored = currencyRatesService.restoreSnapshot(Map.of("USD", 1.1), Map.of(), fetchedAt);
+        RatesSnapshot fresh = currencyRatesService.publishSnapshot(Map.of("USD", 1.2), Instant.now());
+
+        // Assert
+        assertTrue(restored.isRestored());
+        assertEquals(fetchedAt, restored.getFetchedAt());
+        assertTrue(new String(restored.getAllRatesBody(), StandardCharsets.UTF_8).contains("\"stale\":true"));
+        assertFalse(fresh.isRestored());
+        assertEquals(restored.getVersion() + 1, fresh.getVersion());
+    }
+
+    @Test
+    @DisplayName("Restore never replaces a snapshot that is already served")
+    void testRestoreSnapshot_whenSnapshotPresent_keepsCurrentSnapshot() {
+        // Arrange
+        RatesSnapshot fresh = currencyRatesService.publishSnapshot(Map.of("USD", 1.2), Instant.now());
+
+        // Act
+        RatesSnapshot restored = currencyRatesService.restoreSnapshot(Map.of("USD", 1.1), Map.of(),
+                Instant.now().minus(Duration.ofHours(3)));
+
+        // Assert
+        assertNull(restored);
+        assertSame(fresh, currencyRatesService.getSnapshot());
+    }
+
+    @Test
+    @DisplayName("Replicas without the fetch lease do not call the providers")
+    void testFetchExchangeRates_whenNotLeader_skipsFetch() {
+        // Arrange
+        when(fetchLeaseService.isLeader()).thenReturn(false);
+
+        // Act
+        currencyRatesService.fetchExchangeRates();
+
+        // Assert
+        verifyNoInteractions(rateProviderService, currencyCatalogService, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Replicated rates are published under the cluster version and marked as replicated")
+    void testApplyReplicatedSnapshot_whenNewer_publishesWithClusterVersion() {
+        // Arrange
+        ReflectionTestUtils.setField(currencyRatesService, "baseCurrency", "EUR");
+        Instant fetchedAt = Instant.now();
+
+        // Act
+        RatesSnapshot applied = currencyRatesService.applyReplicatedSnapshot(42L, Map.of("USD", 1.08), Map.of(),
+                fetchedAt);
+        RatesSnapshot repeated = currencyRatesService.applyReplicatedSnapshot(43L, Map.of("USD", 1.09), Map.of(),
+                fetchedAt);
+
+        // Assert
+        assertEquals(42L, applied.getVersion());
+        assertNull(repeated, "a generation fetched at the same time must not replace the current snapshot");
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof RatesSnapshotPublishedEvent published
+                        && published.isReplicated() && published.getSnapshot() == applied));
+    }
+}
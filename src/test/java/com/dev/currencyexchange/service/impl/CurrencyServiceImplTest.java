@@ -1,18 +1,39 @@
 package com.dev.currencyexchange.service.impl;
 
+import com.dev.currencyexchange.dto.ConversionDto;
+import com.dev.currencyexchange.dto.CurrencyBatchItemDto;
+import com.dev.currencyexchange.dto.CurrencyBatchResultDto;
 import com.dev.currencyexchange.dto.CurrencyDto;
+import com.dev.currencyexchange.dto.ExchangeRatesDto;
+import com.dev.currencyexchange.dto.RateEntryDto;
 import com.dev.currencyexchange.entity.Currency;
+import com.dev.currencyexchange.event.CurrencyCatalogChangedEvent;
+import com.dev.currencyexchange.exception.CurrencyAlreadyExistsException;
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import com.dev.currencyexchange.model.CurrencyCatalog;
+import com.dev.currencyexchange.model.RatesSnapshot;
 import com.dev.currencyexchange.repository.CurrencyRepository;
+import com.dev.currencyexchange.service.CurrencyCatalogService;
 import com.dev.currencyexchange.service.CurrencyRatesService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,6 +46,18 @@ class CurrencyServiceImplTest {
     @Mock
     private CurrencyRatesService currencyRatesService;
 
+    @Mock
+    private CurrencyCatalogService currencyCatalogService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ExchangeRateMetrics exchangeRateMetrics = new ExchangeRateMetrics(new SimpleMeterRegistry(), Duration.ofHours(2));
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private CurrencyServiceImpl currencyService;
 
@@ -32,8 +65,8 @@ class CurrencyServiceImplTest {
     @DisplayName("Get all currencies successfully")
     void testGetAllCurrencies_whenCurrenciesExist_returnsListOfCurrencies() {
         // Arrange
-        Currency currency = Currency.builder().code("USD").name("Dollar").build();
-        when(currencyRepository.findAll()).thenReturn(List.of(currency));
+        when(currencyCatalogService.getCatalog())
+                .thenReturn(new CurrencyCatalog(1L, List.of(new CurrencyDto("USD", "Dollar"))));
 
         // Act
         List<CurrencyDto> currencies = currencyService.getAllCurrencies();
@@ -42,19 +75,20 @@ class CurrencyServiceImplTest {
         assertNotNull(currencies);
         assertEquals(1, currencies.size());
         assertEquals("USD", currencies.get(0).getCode());
-        verify(currencyRepository, times(1)).findAll();
+        verify(currencyCatalogService, times(1)).getCatalog();
+        verifyNoInteractions(currencyRepository);
     }
 
     @Test
     @DisplayName("No currencies found")
     void testGetAllCurrencies_whenNoCurrenciesFound_throwsException() {
         // Arrange
-        when(currencyRepository.findAll()).thenReturn(Collections.emptyList());
+        when(currencyCatalogService.getCatalog()).thenReturn(new CurrencyCatalog(1L, Collections.emptyList()));
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, currencyService::getAllCurrencies);
         assertEquals("No currencies found.", exception.getMessage());
-        verify(currencyRepository, times(1)).findAll();
+        verify(currencyCatalogService, times(1)).getCatalog();
     }
 
     @Test
@@ -63,7 +97,8 @@ class CurrencyServiceImplTest {
         // Arrange
         CurrencyDto currencyDto = new CurrencyDto("USD", "US Dollar");
         Currency currency = Currency.builder().code("USD").name("US Dollar").build();
-        when(currencyRepository.save(any(Currency.class))).thenReturn(currency);
+        when(currencyRepository.existsByCode("USD")).thenReturn(false);
+        when(currencyRepository.saveAndFlush(any(Currency.class))).thenReturn(currency);
 
         // Act
         CurrencyDto result = currencyService.addCurrency(currencyDto);
@@ -72,7 +107,38 @@ class CurrencyServiceImplTest {
         assertNotNull(result);
         assertEquals("USD", result.getCode());
         assertEquals("US Dollar", result.getName());
-        verify(currencyRepository, times(1)).save(any(Currency.class));
+        verify(currencyRepository, times(1)).saveAndFlush(any(Currency.class));
+        verify(currencyRepository).incrementCatalogVersion();
+        verify(eventPublisher, times(1)).publishEvent(new CurrencyCatalogChangedEvent("USD"));
+    }
+
+    @Test
+    @DisplayName("Add currency normalizes the code like the batch path")
+    void testAddCurrency_whenCodeLowercase_storesNormalizedCode() {
+        // Arrange
+        when(currencyRepository.existsByCode("GBP")).thenReturn(false);
+
+        // Act
+        CurrencyDto result = currencyService.addCurrency(new CurrencyDto(" gbp ", " British Pound "));
+
+        // Assert
+        assertEquals("GBP", result.getCode());
+        assertEquals("British Pound", result.getName());
+        verify(currencyRepository).saveAndFlush(Currency.builder().code("GBP").name("British Pound").build());
+    }
+
+    @Test
+    @DisplayName("Add currency rejects invalid codes and names without touching the database")
+    void testAddCurrency_whenCodeOrNameInvalid_throwsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> currencyService.addCurrency(new CurrencyDto("US1", "US Dollar")));
+        assertThrows(IllegalArgumentException.class,
+                () -> currencyService.addCurrency(new CurrencyDto("USDX", "US Dollar")));
+        assertThrows(IllegalArgumentException.class, () -> currencyService.addCurrency(new CurrencyDto("USD", " ")));
+        assertThrows(IllegalArgumentException.class,
+                () -> currencyService.addCurrency(new CurrencyDto("USD", "x".repeat(101))));
+        verifyNoInteractions(currencyRepository, eventPublisher);
     }
 
     @Test
@@ -80,13 +146,70 @@ class CurrencyServiceImplTest {
     void testAddCurrency_whenCurrencyAlreadyExists_throwsException() {
         // Arrange
         CurrencyDto currencyDto = new CurrencyDto("USD", "US Dollar");
-        Currency currency = Currency.builder().code("USD").name("US Dollar").build();
-        when(currencyRepository.save(any(Currency.class)))
-                .thenThrow(new RuntimeException("Currency with code USD already exists."));
+        when(currencyRepository.existsByCode("USD")).thenReturn(true);
+
+        // Act & Assert
+        CurrencyAlreadyExistsException exception = assertThrows(CurrencyAlreadyExistsException.class,
+                () -> currencyService.addCurrency(currencyDto));
+        assertEquals("USD", exception.getCurrencyCode());
+        verify(currencyRepository, never()).saveAndFlush(any(Currency.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Currency inserted concurrently is reported as existing")
+    void testAddCurrency_whenUniqueConstraintViolated_throwsException() {
+        // Arrange
+        CurrencyDto currencyDto = new CurrencyDto("USD", "US Dollar");
+        when(currencyRepository.existsByCode("USD")).thenReturn(false);
+        when(currencyRepository.saveAndFlush(any(Currency.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
 
         // Act & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> currencyService.addCurrency(currencyDto));
-        assertTrue(exception.getMessage().contains("Currency with code USD already exists."));
+        CurrencyAlreadyExistsException exception = assertThrows(CurrencyAlreadyExistsException.class,
+                () -> currencyService.addCurrency(currencyDto));
+        assertEquals("Currency with code USD already exists.", exception.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Batch add reports created, existing and invalid items in request order")
+    void testAddCurrencies_whenBatchMixed_reportsStatusPerItem() {
+        // Arrange
+        ReflectionTestUtils.setField(currencyService, "maxBatchSize", 1000);
+        List<CurrencyDto> batch = List.of(
+                new CurrencyDto("usd", "US Dollar"),
+                new CurrencyDto("EURO", "Euro"),
+                new CurrencyDto("GBP", "British Pound"),
+                new CurrencyDto("USD", "US Dollar"),
+                new CurrencyDto("JPY", " "));
+        when(currencyRepository.insertMissing(List.of(new CurrencyDto("USD", "US Dollar"),
+                new CurrencyDto("GBP", "British Pound")))).thenReturn(new boolean[]{true, false});
+
+        // Act
+        CurrencyBatchResultDto result = currencyService.addCurrencies(batch);
+
+        // Assert
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getExisting());
+        assertEquals(2, result.getInvalid());
+        assertEquals(List.of(CurrencyBatchItemDto.Status.CREATED, CurrencyBatchItemDto.Status.INVALID,
+                        CurrencyBatchItemDto.Status.EXISTING, CurrencyBatchItemDto.Status.EXISTING,
+                        CurrencyBatchItemDto.Status.INVALID),
+                result.getItems().stream().map(CurrencyBatchItemDto::getStatus).toList());
+        verify(eventPublisher, times(1)).publishEvent(new CurrencyCatalogChangedEvent(List.of("USD")));
+    }
+
+    @Test
+    @DisplayName("Oversized batch is rejected")
+    void testAddCurrencies_whenBatchTooLarge_throwsException() {
+        // Arrange
+        ReflectionTestUtils.setField(currencyService, "maxBatchSize", 1);
+        List<CurrencyDto> batch = List.of(new CurrencyDto("USD", "US Dollar"), new CurrencyDto("GBP", "Pound"));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> currencyService.addCurrencies(batch));
+        verifyNoInteractions(currencyRepository);
     }
 
     @Test
@@ -118,4 +241,161 @@ class CurrencyServiceImplTest {
         assertTrue(exception.getMessage().contains("Exchange rate not found for currency: USD"));
         verify(currencyRatesService, times(1)).getExchangeRatesForCurrency(currencyCode);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Convert amount between two non-base currencies")
+    void testConvert_whenBothCurrenciesKnown_returnsConvertedAmount() {
+        // Arrange
+        RatesSnapshot snapshot = new RatesSnapshot(5L, "EUR", Instant.now(), Map.of("USD", 1.25, "JPY", 150.0));
+        when(currencyRatesService.getSnapshot()).thenReturn(snapshot);
+
+        // Act
+        ConversionDto result = currencyService.convert("USD", "JPY", 10.0);
+
+        // Assert
+        assertEquals(120.0, result.getRate(), 1e-9);
+        assertEquals(1200.0, result.getResult(), 1e-9);
+        assertEquals(5L, result.getSnapshotVersion());
+    }
+
+    @Test
+    @DisplayName("Convert with unknown currency")
+    void testConvert_whenCurrencyUnknown_throwsException() {
+        // Arrange
+        RatesSnapshot snapshot = new RatesSnapshot(5L, "EUR", Instant.now(), Map.of("USD", 1.25));
+        when(currencyRatesService.getSnapshot()).thenReturn(snapshot);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> currencyService.convert("USD", "GBP", 1.0));
+        assertTrue(exception.getMessage().contains("USD -> GBP"));
+    }
+
+    @Test
+    @DisplayName("Bulk lookup reports unknown currencies per entry")
+    void testGetExchangeRates_whenSomeCodesUnknown_reportsEachEntry() {
+        // Arrange
+        RatesSnapshot snapshot = new RatesSnapshot(2L, "EUR", Instant.now(), Map.of("USD", 1.25, "GBP", 0.85));
+        when(currencyRatesService.getSnapshot()).thenReturn(snapshot);
+
+        // Act
+        ExchangeRatesDto result = currencyService.getExchangeRates(List.of("GBP", "ABC"));
+
+        // Assert
+        assertEquals(2L, result.getSnapshotVersion());
+        assertEquals(2, result.getRates().size());
+        assertEquals(0.85, result.getRates().get(0).getRate());
+        assertNull(result.getRates().get(0).getError());
+        assertNull(result.getRates().get(1).getRate());
+        assertNotNull(result.getRates().get(1).getError());
+        verify(currencyRatesService, times(1)).getSnapshot();
+    }
+
+    @Test
+    @DisplayName("Bulk lookup without codes returns all rates sorted by code")
+    void testGetExchangeRates_whenNoCodesGiven_returnsAllRates() {
+        // Arrange
+        RatesSnapshot snapshot = new RatesSnapshot(2L, "EUR", Instant.now(), Map.of("USD", 1.25, "GBP", 0.85));
+        when(currencyRatesService.getSnapshot()).thenReturn(snapshot);
+
+        // Act
+        ExchangeRatesDto result = currencyService.getExchangeRates(null);
+
+        // Assert
+        assertEquals(2, result.getRates().size());
+        assertEquals("GBP", result.getRates().get(0).getCode());
+        assertEquals("USD", result.getRates().get(1).getCode());
+    }
+
+    @Test
+    @DisplayName("Pre-serialized rate body is returned when the snapshot carries one")
+    void testGetExchangeRateBody_whenBodyPresent_returnsBody() {
+        // Arrange
+        byte[] body = "1.25".getBytes(StandardCharsets.UTF_8);
+        RatesSnapshot snapshot = new RatesSnapshot(2L, "EUR", Instant.now(), Map.of("USD", 1.25))
+                .withResponseBodies(Map.of("USD", body), null);
+
+        // Act
+        byte[] result = currencyService.getExchangeRateBody(snapshot, "USD");
+
+        // Assert
+        assertSame(body, result);
+    }
+
+    @Test
+    @DisplayName("Rate body for unknown currency")
+    void testGetExchangeRateBody_whenCurrencyNotFound_throwsException() {
+        // Arrange
+        RatesSnapshot snapshot = new RatesSnapshot(2L, "EUR", Instant.now(), Map.of("USD", 1.25));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> currencyService.getExchangeRateBody(snapshot, "GBP"));
+    }
+
+    @Test
+    @DisplayName("Rate body against another base is triangulated from the snapshot")
+    void testGetExchangeRateBody_whenBaseDiffers_returnsDerivedRate() {
+        // Arrange
+        RatesSnapshot snapshot = new RatesSnapshot(2L, "EUR", Instant.now(), Map.of("USD", 1.25, "GBP", 0.85))
+                .withResponseBodies(Map.of("GBP", "0.85".getBytes(StandardCharsets.UTF_8)), null);
+
+        // Act
+        byte[] result = currencyService.getExchangeRateBody(snapshot, "USD", "GBP");
+
+        // Assert
+        assertEquals(0.68, Double.parseDouble(new String(result, StandardCharsets.UTF_8)), 1e-9);
+        verifyNoInteractions(exchangeRateMetrics);
+    }
+
+    @Test
+    @DisplayName("Bulk lookup against another base derives every rate including the fetched base")
+    void testGetExchangeRates_whenBaseDiffers_returnsDerivedRates() {
+        // Arrange
+        RatesSnapshot snapshot = new RatesSnapshot(2L, "EUR", Instant.now(), Map.of("USD", 1.25, "GBP", 0.85),
+                Map.of("USD", "alpha", "GBP", "alpha"));
+        when(currencyRatesService.getSnapshot()).thenReturn(snapshot);
+
+        // Act
+        ExchangeRatesDto all = currencyService.getExchangeRates("USD", null);
+        ExchangeRatesDto selected = currencyService.getExchangeRates("USD", List.of("EUR", "ABC"));
+
+        // Assert
+        assertEquals("USD", all.getBaseCurrency());
+        assertEquals(List.of("EUR", "GBP", "USD"), all.getRates().stream().map(RateEntryDto::getCode).toList());
+        assertEquals(0.8, all.getRates().get(0).getRate(), 1e-9);
+        assertEquals(1.0, all.getRates().get(2).getRate(), 1e-9);
+        assertEquals(0.8, selected.getRates().get(0).getRate(), 1e-9);
+        assertNull(selected.getRates().get(0).getSource());
+        assertNotNull(selected.getRates().get(1).getError());
+    }
+
+    @Test
+    @DisplayName("Bulk lookup against an unknown base")
+    void testGetExchangeRates_whenBaseUnknown_throwsException() {
+        // Arrange
+        RatesSnapshot snapshot = new RatesSnapshot(2L, "EUR", Instant.now(), Map.of("USD", 1.25));
+        when(currencyRatesService.getSnapshot()).thenReturn(snapshot);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> currencyService.getExchangeRates("JPY", null));
+        assertTrue(exception.getMessage().contains("JPY"));
+    }
+
+    @Test
+    @DisplayName("All-rates body against another base is serialized once per snapshot")
+    void testGetAllExchangeRatesBody_whenBaseDiffers_memoizesBody() throws Exception {
+        // Arrange
+        RatesSnapshot snapshot = new RatesSnapshot(2L, "EUR", Instant.now(), Map.of("USD", 1.25, "GBP", 0.85));
+
+        // Act
+        byte[] first = currencyService.getAllExchangeRatesBody(snapshot, "USD");
+        byte[] second = currencyService.getAllExchangeRatesBody(snapshot, "USD");
+        byte[] unknown = currencyService.getAllExchangeRatesBody(snapshot, "JPY");
+
+        // Assert
+        assertSame(first, second);
+        assertTrue(new String(first, StandardCharsets.UTF_8).contains("\"baseCurrency\":\"USD\""));
+        assertNull(unknown);
+        verify(objectMapper, times(1)).writeValueAsBytes(any());
+    }
+}
@@ -0,0 +1,118 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import com.dev.currencyexchange.repository.RatesClusterRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FetchLeaseServiceImplTest {
+
+    @Mock
+    private RatesClusterRepository ratesClusterRepository;
+
+    @Spy
+    private ExchangeRateMetrics exchangeRateMetrics = new ExchangeRateMetrics(new SimpleMeterRegistry(), Duration.ofHours(2));
+
+    @InjectMocks
+    private FetchLeaseServiceImpl fetchLeaseService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(fetchLeaseService, "enabled", true);
+        ReflectionTestUtils.setField(fetchLeaseService, "leaseDuration", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(fetchLeaseService, "nodeId", "node-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        fetchLeaseService.stop();
+    }
+
+    @Test
+    @DisplayName("Leadership checks read the lease taken by the renewal without touching the database")
+    void testIsLeader_whenLeaseAcquired_doesNotRenew() {
+        // Arrange
+        when(ratesClusterRepository.tryAcquireLease(eq(FetchLeaseServiceImpl.LEASE_NAME), eq("node-1"), any()))
+                .thenReturn(true);
+        fetchLeaseService.renew();
+
+        // Act
+        boolean first = fetchLeaseService.isLeader();
+        boolean second = fetchLeaseService.isLeader();
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        verify(ratesClusterRepository, times(1)).tryAcquireLease(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("A follower does not try to take the lease when checking leadership")
+    void testIsLeader_whenLeaseHeldElsewhere_returnsFalseWithoutAcquiring() {
+        // Arrange
+        when(ratesClusterRepository.tryAcquireLease(any(), any(), any())).thenReturn(false);
+        fetchLeaseService.renew();
+
+        // Act & Assert
+        assertFalse(fetchLeaseService.isLeader());
+        assertFalse(fetchLeaseService.isLeader());
+        verify(ratesClusterRepository, times(1)).tryAcquireLease(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Leadership lapses locally when the lease was not renewed in time")
+    void testIsLeader_whenLeaseNotRenewed_returnsFalse() {
+        // Arrange
+        when(ratesClusterRepository.tryAcquireLease(any(), any(), any())).thenReturn(true);
+        fetchLeaseService.renew();
+        ReflectionTestUtils.setField(fetchLeaseService, "leaseValidUntilNanos", System.nanoTime() - 1);
+
+        // Act & Assert
+        assertFalse(fetchLeaseService.isLeader());
+        verify(ratesClusterRepository, times(1)).tryAcquireLease(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Rates are fetched locally while the lease cannot be checked")
+    void testRenew_whenDatabaseUnavailable_fallsBackToLocalFetch() {
+        // Arrange
+        when(ratesClusterRepository.tryAcquireLease(any(), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"))
+                .thenReturn(false);
+
+        // Act & Assert
+        assertTrue(fetchLeaseService.renew());
+        assertTrue(fetchLeaseService.isLeader());
+        assertFalse(fetchLeaseService.renew());
+        assertFalse(fetchLeaseService.isLeader());
+    }
+
+    @Test
+    @DisplayName("Without clustering every replica fetches")
+    void testIsLeader_whenClusteringDisabled_returnsTrue() {
+        // Arrange
+        ReflectionTestUtils.setField(fetchLeaseService, "enabled", false);
+
+        // Act & Assert
+        assertTrue(fetchLeaseService.isLeader());
+        verifyNoInteractions(ratesClusterRepository);
+    }
+}
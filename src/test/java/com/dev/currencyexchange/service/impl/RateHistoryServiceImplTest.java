@@ -0,0 +1,116 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.dto.RateHistoryDto;
+import com.dev.currencyexchange.entity.CurrencyRateLog;
+import com.dev.currencyexchange.repository.ExchangeRateLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateHistoryServiceImplTest {
+
+    @Mock
+    private ExchangeRateLogRepository exchangeRateLogRepository;
+
+    @InjectMocks
+    private RateHistoryServiceImpl rateHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(rateHistoryService, "maxPoints", 100);
+    }
+
+    @Test
+    @DisplayName("History is returned for the requested range")
+    void testGetHistory_whenRangeGiven_returnsPoints() {
+        // Arrange
+        Instant from = Instant.parse("2025-03-01T00:00:00Z");
+        Instant to = Instant.parse("2025-03-02T00:00:00Z");
+        List<CurrencyRateLog> logs = List.of(
+                CurrencyRateLog.builder().currencyCode("USD").fetchedAt(from.plusSeconds(3600)).baseCurrency("EUR").rate(1.08).build(),
+                CurrencyRateLog.builder().currencyCode("USD").fetchedAt(from.plusSeconds(7200)).baseCurrency("EUR").rate(1.09).build());
+        when(exchangeRateLogRepository.findByCurrencyCodeAndFetchedAtBetweenOrderByFetchedAtAsc(eq("USD"), eq(from), eq(to), any(Limit.class)))
+                .thenReturn(logs);
+
+        // Act
+        RateHistoryDto history = rateHistoryService.getHistory("USD", from, to);
+
+        // Assert
+        assertEquals("USD", history.getCurrencyCode());
+        assertEquals(2, history.getPoints().size());
+        assertEquals(1.09, history.getPoints().get(1).getRate());
+        assertFalse(history.isTruncated());
+    }
+
+    @Test
+    @DisplayName("Ranges with more points than the limit return the oldest points and are marked truncated")
+    void testGetHistory_whenMorePointsThanLimit_returnsTruncatedHistory() {
+        // Arrange
+        ReflectionTestUtils.setField(rateHistoryService, "maxPoints", 2);
+        Instant from = Instant.parse("2025-03-01T00:00:00Z");
+        Instant to = Instant.parse("2025-03-02T00:00:00Z");
+        List<CurrencyRateLog> logs = List.of(
+                CurrencyRateLog.builder().currencyCode("USD").fetchedAt(from.plusSeconds(3600)).baseCurrency("EUR").rate(1.08).build(),
+                CurrencyRateLog.builder().currencyCode("USD").fetchedAt(from.plusSeconds(7200)).baseCurrency("EUR").rate(1.09).build(),
+                CurrencyRateLog.builder().currencyCode("USD").fetchedAt(from.plusSeconds(10800)).baseCurrency("EUR").rate(1.10).build());
+        when(exchangeRateLogRepository.findByCurrencyCodeAndFetchedAtBetweenOrderByFetchedAtAsc("USD", from, to, Limit.of(3)))
+                .thenReturn(logs);
+
+        // Act
+        RateHistoryDto history = rateHistoryService.getHistory("USD", from, to);
+
+        // Assert
+        assertTrue(history.isTruncated());
+        assertEquals(2, history.getPoints().size());
+        assertEquals(1.09, history.getPoints().get(1).getRate());
+    }
+
+    @Test
+    @DisplayName("Inverted range is rejected without querying the database")
+    void testGetHistory_whenRangeInverted_throwsException() {
+        // Arrange
+        Instant from = Instant.parse("2025-03-02T00:00:00Z");
+        Instant to = Instant.parse("2025-03-01T00:00:00Z");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> rateHistoryService.getHistory("USD", from, to));
+        verifyNoInteractions(exchangeRateLogRepository);
+    }
+
+    @Test
+    @DisplayName("Rate in effect at the start of the range is included when it was stored earlier")
+    void testGetHistory_whenRateUnchangedSinceEarlier_prependsRateInEffect() {
+        // Arrange
+        Instant from = Instant.parse("2025-03-01T00:00:00Z");
+        Instant to = Instant.parse("2025-03-02T00:00:00Z");
+        Instant changedAt = from.minusSeconds(5 * 3600);
+        when(exchangeRateLogRepository.findRateAt("USD", from)).thenReturn(Optional.of(
+                CurrencyRateLog.builder().currencyCode("USD").fetchedAt(changedAt).baseCurrency("EUR").rate(1.07).build()));
+        when(exchangeRateLogRepository.findByCurrencyCodeAndFetchedAtBetweenOrderByFetchedAtAsc(eq("USD"), eq(from), eq(to), any(Limit.class)))
+                .thenReturn(List.of(CurrencyRateLog.builder().currencyCode("USD").fetchedAt(from.plusSeconds(3600)).baseCurrency("EUR").rate(1.08).build()));
+
+        // Act
+        RateHistoryDto history = rateHistoryService.getHistory("USD", from, to);
+
+        // Assert
+        assertEquals(2, history.getPoints().size());
+        assertEquals(changedAt, history.getPoints().get(0).getFetchedAt());
+        assertEquals(1.07, history.getPoints().get(0).getRate());
+    }
+}
@@ -0,0 +1,227 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.entity.CurrencyRateLog;
+import com.dev.currencyexchange.event.RatesSnapshotPublishedEvent;
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.repository.CurrencyRateRollupRepository;
+import com.dev.currencyexchange.repository.ExchangeRateLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateHistoryWriterImplTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<CurrencyRateLog>> stored = new ArrayList<>();
+
+    @Mock
+    private ExchangeRateLogRepository exchangeRateLogRepository;
+
+    @Mock
+    private CurrencyRateRollupRepository currencyRateRollupRepository;
+
+    private final ExchangeRateMetrics exchangeRateMetrics = new ExchangeRateMetrics(meterRegistry, Duration.ofHours(2));
+
+    private RateHistoryWriterImpl rateHistoryWriter;
+
+    private RatesSnapshot current = RatesSnapshot.empty("EUR");
+
+    @BeforeEach
+    void setUp() {
+        rateHistoryWriter = new RateHistoryWriterImpl(exchangeRateLogRepository, currencyRateRollupRepository,
+                exchangeRateMetrics);
+        ReflectionTestUtils.setField(rateHistoryWriter, "checkpointInterval", Duration.ofDays(1));
+        ReflectionTestUtils.setField(rateHistoryWriter, "queueCapacity", 2);
+        ReflectionTestUtils.setField(rateHistoryWriter, "maxBatch", 24);
+        ReflectionTestUtils.setField(rateHistoryWriter, "initialBackoff", Duration.ofMillis(5));
+        ReflectionTestUtils.setField(rateHistoryWriter, "maxBackoff", Duration.ofMillis(20));
+        ReflectionTestUtils.setField(rateHistoryWriter, "shutdownTimeout", Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        rateHistoryWriter.stop();
+    }
+
+    private boolean publish(Map<String, Double> rates) {
+        RatesSnapshot previous = current;
+        current = new RatesSnapshot(previous.getVersion() + 1, "EUR", Instant.now(), rates);
+        return rateHistoryWriter.enqueue(new RatesSnapshotPublishedEvent(current, previous));
+    }
+
+    private void recordStoredRows() {
+        when(exchangeRateLogRepository.saveRateLogs(anyList())).thenAnswer(invocation -> {
+            List<CurrencyRateLog> rows = invocation.getArgument(0);
+            synchronized (stored) {
+                stored.add(List.copyOf(rows));
+            }
+            return rows.size();
+        });
+    }
+
+    private List<CurrencyRateLog> storedRows() {
+        synchronized (stored) {
+            return stored.stream().flatMap(List::stream).toList();
+        }
+    }
+
+    @Test
+    @DisplayName("The first refresh is stored as a checkpoint and later ones as deltas")
+    void testEnqueue_afterCheckpoint_storesOnlyChangedRates() {
+        // Arrange
+        recordStoredRows();
+        rateHistoryWriter.start();
+
+        // Act
+        publish(Map.of("USD", 1.08, "GBP", 0.85));
+        publish(Map.of("USD", 1.09, "GBP", 0.85));
+
+        // Assert
+        await(() -> storedRows().size() == 3);
+        List<CurrencyRateLog> rows = storedRows();
+        assertEquals(2, rows.stream().filter(CurrencyRateLog::isCheckpoint).count());
+        CurrencyRateLog delta = rows.stream().filter(row -> !row.isCheckpoint()).findFirst().orElseThrow();
+        assertEquals("USD", delta.getCurrencyCode());
+        assertEquals(1.09, delta.getRate());
+    }
+
+    @Test
+    @DisplayName("Rollups are fed every rate of a refresh, not only the changed ones")
+    void testWrite_whenDeltaStored_feedsFullRatesToRollups() {
+        // Arrange
+        recordStoredRows();
+        rateHistoryWriter.start();
+        publish(Map.of("USD", 1.08, "GBP", 0.85));
+        await(() -> storedRows().size() == 2);
+
+        // Act
+        publish(Map.of("USD", 1.09, "GBP", 0.85));
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CurrencyRateLog>> samples = ArgumentCaptor.forClass(List.class);
+        verify(currencyRateRollupRepository, timeout(2000).times(2)).saveRollups(samples.capture());
+        List<CurrencyRateLog> second = samples.getAllValues().get(1);
+        assertEquals(2, second.size());
+        assertEquals(Map.of("USD", 1.09, "GBP", 0.85), second.stream()
+                .collect(Collectors.toMap(CurrencyRateLog::getCurrencyCode, CurrencyRateLog::getRate)));
+    }
+
+    @Test
+    @DisplayName("A rate dropped by the provider forces a full checkpoint")
+    void testEnqueue_whenRateDropped_storesCheckpoint() {
+        // Arrange
+        recordStoredRows();
+        rateHistoryWriter.start();
+
+        // Act
+        publish(Map.of("USD", 1.08, "GBP", 0.85));
+        publish(Map.of("USD", 1.08));
+
+        // Assert
+        await(() -> storedRows().size() == 3);
+        assertTrue(storedRows().stream().allMatch(CurrencyRateLog::isCheckpoint));
+    }
+
+    @Test
+    @DisplayName("Transient database errors are retried until the rows are stored")
+    void testWrite_whenDatabaseTemporarilyDown_retries() {
+        // Arrange
+        when(exchangeRateLogRepository.saveRateLogs(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"))
+                .thenReturn(1);
+        rateHistoryWriter.start();
+
+        // Act
+        publish(Map.of("USD", 1.08));
+
+        // Assert
+        verify(exchangeRateLogRepository, timeout(2000).times(3)).saveRateLogs(anyList());
+        await(() -> meterRegistry.find("exchange.rates.history.writes").tag("outcome", "success").counter() != null);
+        assertEquals(2.0, meterRegistry.get("exchange.rates.history.writes").tag("outcome", "retry")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("A discarded batch makes the next stored refresh a full checkpoint")
+    void testWrite_whenBatchDiscarded_rewritesNextRefreshAsCheckpoint() {
+        // Arrange
+        when(exchangeRateLogRepository.saveRateLogs(anyList()))
+                .thenThrow(new DataIntegrityViolationException("broken row"))
+                .thenReturn(2);
+        rateHistoryWriter.start();
+        publish(Map.of("USD", 1.08, "GBP", 0.85));
+        verify(exchangeRateLogRepository, timeout(2000).times(1)).saveRateLogs(anyList());
+
+        // Act
+        publish(Map.of("USD", 1.09, "GBP", 0.85));
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CurrencyRateLog>> rows = ArgumentCaptor.forClass(List.class);
+        verify(exchangeRateLogRepository, timeout(2000).times(2)).saveRateLogs(rows.capture());
+        List<CurrencyRateLog> rewritten = rows.getAllValues().get(1);
+        assertEquals(2, rewritten.size());
+        assertTrue(rewritten.stream().allMatch(CurrencyRateLog::isCheckpoint));
+    }
+
+    @Test
+    @DisplayName("A full queue drops refreshes instead of blocking publication")
+    void testEnqueue_whenQueueFull_dropsRefresh() throws InterruptedException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        when(exchangeRateLogRepository.saveRateLogs(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+        rateHistoryWriter.start();
+        publish(Map.of("USD", 1.08));
+        verify(exchangeRateLogRepository, timeout(2000)).saveRateLogs(anyList());
+
+        // Act
+        boolean second = publish(Map.of("USD", 1.09));
+        boolean third = publish(Map.of("USD", 1.10));
+        boolean fourth = publish(Map.of("USD", 1.11));
+        release.countDown();
+
+        // Assert
+        assertTrue(second);
+        assertTrue(third);
+        assertFalse(fourth);
+        assertEquals(1.0, meterRegistry.get("exchange.rates.history.writes").tag("outcome", "dropped")
+                .counter().count());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.onSpinWait();
+        }
+    }
+}
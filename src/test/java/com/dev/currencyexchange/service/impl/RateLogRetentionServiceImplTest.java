@@ -0,0 +1,148 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.repository.RateLogPartitionRepository;
+import com.dev.currencyexchange.service.FetchLeaseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateLogRetentionServiceImplTest {
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 15);
+
+    @Mock
+    private RateLogPartitionRepository rateLogPartitionRepository;
+
+    @Mock
+    private FetchLeaseService fetchLeaseService;
+
+    @InjectMocks
+    private RateLogRetentionServiceImpl retentionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(retentionService, "monthsAhead", 3);
+        ReflectionTestUtils.setField(retentionService, "retentionEnabled", true);
+        ReflectionTestUtils.setField(retentionService, "maxAge", Period.ofMonths(12));
+        ReflectionTestUtils.setField(retentionService, "drop", true);
+        ReflectionTestUtils.setField(retentionService, "exportDir", "");
+    }
+
+    @Test
+    @DisplayName("Missing partitions of the current and coming months are created")
+    void testMaintainPartitions_whenMonthsMissing_createsThem() {
+        // Arrange
+        when(rateLogPartitionRepository.findPartitionMonths())
+                .thenReturn(List.of(YearMonth.of(2025, 3), YearMonth.of(2025, 4)));
+
+        // Act
+        retentionService.maintainPartitions(TODAY);
+
+        // Assert
+        verify(rateLogPartitionRepository).createPartition(YearMonth.of(2025, 5));
+        verify(rateLogPartitionRepository).createPartition(YearMonth.of(2025, 6));
+        verify(rateLogPartitionRepository, times(2)).createPartition(any());
+    }
+
+    @Test
+    @DisplayName("Only months entirely older than the retention age are dropped")
+    void testMaintainPartitions_whenMonthsExpired_dropsThem() {
+        // Arrange
+        when(rateLogPartitionRepository.findPartitionMonths()).thenReturn(List.of(YearMonth.of(2024, 2),
+                YearMonth.of(2024, 3), YearMonth.of(2025, 3), YearMonth.of(2025, 4), YearMonth.of(2025, 5),
+                YearMonth.of(2025, 6)));
+
+        // Act
+        retentionService.maintainPartitions(TODAY);
+
+        // Assert
+        verify(rateLogPartitionRepository).detachPartition(YearMonth.of(2024, 2));
+        verify(rateLogPartitionRepository).dropPartition(YearMonth.of(2024, 2));
+        verify(rateLogPartitionRepository, never()).detachPartition(YearMonth.of(2024, 3));
+        verify(rateLogPartitionRepository, never()).createPartition(any());
+    }
+
+    @Test
+    @DisplayName("Expired months are exported before they are dropped")
+    void testMaintainPartitions_whenExportConfigured_writesGzippedCsv(@TempDir Path exportDir) throws IOException {
+        // Arrange
+        ReflectionTestUtils.setField(retentionService, "exportDir", exportDir.toString());
+        when(rateLogPartitionRepository.findPartitionMonths()).thenReturn(List.of(YearMonth.of(2024, 1)));
+        when(rateLogPartitionRepository.exportPartition(eq(YearMonth.of(2024, 1)), any())).thenAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(1);
+            output.write("currency_code,fetched_at\nUSD,2024-01-01 00:00:00+00\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        // Act
+        retentionService.maintainPartitions(TODAY);
+
+        // Assert
+        Path exported = exportDir.resolve("currency_rate_log_p2024_01.csv.gz");
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(exported))) {
+            input.transferTo(content);
+        }
+        assertTrue(content.toString(StandardCharsets.UTF_8).startsWith("currency_code,fetched_at\nUSD"));
+        verify(rateLogPartitionRepository).dropPartition(YearMonth.of(2024, 1));
+        try (var files = Files.list(exportDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("A failed export keeps the partition attached")
+    void testMaintainPartitions_whenExportFails_keepsPartition(@TempDir Path exportDir) {
+        // Arrange
+        ReflectionTestUtils.setField(retentionService, "exportDir", exportDir.toString());
+        when(rateLogPartitionRepository.findPartitionMonths()).thenReturn(List.of(YearMonth.of(2024, 1)));
+        when(rateLogPartitionRepository.exportPartition(eq(YearMonth.of(2024, 1)), any()))
+                .thenThrow(new DataAccessResourceFailureException("Connection reset"));
+
+        // Act
+        retentionService.maintainPartitions(TODAY);
+
+        // Assert
+        verify(rateLogPartitionRepository, never()).detachPartition(any());
+        verify(rateLogPartitionRepository, never()).dropPartition(any());
+        assertFalse(Files.exists(exportDir.resolve("currency_rate_log_p2024_01.csv.gz")));
+    }
+
+    @Test
+    @DisplayName("Replicas without the fetch lease leave the partitions alone")
+    void testMaintainPartitions_whenNotLeader_doesNothing() {
+        // Arrange
+        when(fetchLeaseService.isLeader()).thenReturn(false);
+
+        // Act
+        retentionService.maintainPartitions();
+
+        // Assert
+        verifyNoInteractions(rateLogPartitionRepository);
+    }
+}
@@ -0,0 +1,165 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.client.ExchangeRatesClient;
+import com.dev.currencyexchange.client.RateProvider;
+import com.dev.currencyexchange.config.AppConfig;
+import com.dev.currencyexchange.config.ExchangeClientProperties;
+import com.dev.currencyexchange.metrics.ExchangeRateMetrics;
+import com.dev.currencyexchange.model.AggregatedRates;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateProviderServiceImplTest {
+    private final List<HttpServer> servers = new ArrayList<>();
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+    private final List<RateProvider> providers = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ExchangeClientProperties properties;
+    private RestTemplate restTemplate;
+    private RateProviderServiceImpl rateProviderService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ExchangeClientProperties();
+        properties.setReadTimeout(Duration.ofSeconds(2));
+        properties.setDeadline(Duration.ofMillis(500));
+        properties.getRetry().setMaxAttempts(1);
+        restTemplate = new RestTemplate(
+                new HttpComponentsClientHttpRequestFactory(AppConfig.pooledHttpClient(properties)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (rateProviderService != null) {
+            rateProviderService.stop();
+        }
+        servers.forEach(server -> server.stop(0));
+        serverExecutor.shutdownNow();
+    }
+
+    private void stubProvider(String name, int priority, int status, long delayMillis, String ratesJson)
+            throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/latest", exchange -> {
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = ("{\"base\":\"EUR\",\"rates\":" + ratesJson + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+        servers.add(server);
+
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/latest";
+        providers.add(new ExchangeRatesClient(name, priority, restTemplate, properties, url, "key-" + name));
+    }
+
+    private AggregatedRates fetch() {
+        rateProviderService = new RateProviderServiceImpl(providers, properties,
+                new ExchangeRateMetrics(meterRegistry, Duration.ofHours(2)));
+        rateProviderService.start();
+        return rateProviderService.fetchLatestRates("EUR", List.of("USD", "GBP"));
+    }
+
+    @Test
+    @DisplayName("Quotes from several providers are combined by median with provenance")
+    void testFetchLatestRates_whenProvidersAgree_returnsMedianWithSource() throws IOException {
+        // Arrange
+        stubProvider("alpha", 0, 200, 0, "{\"USD\":1.080,\"GBP\":0.850}");
+        stubProvider("beta", 1, 200, 0, "{\"USD\":1.082}");
+        stubProvider("gamma", 2, 200, 0, "{\"USD\":1.081}");
+
+        // Act
+        AggregatedRates aggregated = fetch();
+
+        // Assert
+        assertEquals(1.081, aggregated.getRates().get("USD"));
+        assertEquals("gamma", aggregated.getSources().get("USD"));
+        assertEquals(0.850, aggregated.getRates().get("GBP"));
+        assertEquals("alpha", aggregated.getSources().get("GBP"));
+        assertEquals(ExchangeRateMetrics.OUTCOME_SUCCESS, aggregated.getProviderOutcomes().get("beta"));
+    }
+
+    @Test
+    @DisplayName("Quotes far from the cross-provider median are rejected")
+    void testFetchLatestRates_whenOneProviderDeviates_rejectsOutlier() throws IOException {
+        // Arrange
+        properties.setAggregation(ExchangeClientProperties.Aggregation.PRIORITY);
+        stubProvider("alpha", 0, 200, 0, "{\"USD\":1.30}");
+        stubProvider("beta", 1, 200, 0, "{\"USD\":1.08}");
+        stubProvider("gamma", 2, 200, 0, "{\"USD\":1.081}");
+
+        // Act
+        AggregatedRates aggregated = fetch();
+
+        // Assert
+        assertEquals(1.08, aggregated.getRates().get("USD"));
+        assertEquals("beta", aggregated.getSources().get("USD"));
+        assertEquals(1.0, meterRegistry.get("exchange.rates.provider.outliers").tag("provider", "alpha")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Failing and slow providers do not hold back the others")
+    void testFetchLatestRates_whenProvidersFailOrHang_usesRemainingProviders() throws IOException {
+        // Arrange
+        stubProvider("alpha", 0, 503, 0, "{}");
+        stubProvider("beta", 1, 200, 1500, "{\"USD\":1.20}");
+        stubProvider("gamma", 2, 200, 0, "{\"USD\":1.08}");
+
+        // Act
+        long start = System.nanoTime();
+        AggregatedRates aggregated = fetch();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Assert
+        assertEquals(1.08, aggregated.getRates().get("USD"));
+        assertEquals("gamma", aggregated.getSources().get("USD"));
+        assertEquals(ExchangeRateMetrics.OUTCOME_HTTP_ERROR, aggregated.getProviderOutcomes().get("alpha"));
+        assertEquals(ExchangeRateMetrics.OUTCOME_TIMEOUT, aggregated.getProviderOutcomes().get("beta"));
+        assertTrue(elapsed.compareTo(Duration.ofMillis(1200)) < 0, "fetch should return at the deadline");
+    }
+
+    @Test
+    @DisplayName("Providers without consensus fall back to the preferred provider")
+    void testFetchLatestRates_whenTwoProvidersDisagree_usesPriority() throws IOException {
+        // Arrange
+        stubProvider("alpha", 1, 200, 0, "{\"USD\":1.30}");
+        stubProvider("beta", 0, 200, 0, "{\"USD\":1.08}");
+
+        // Act
+        AggregatedRates aggregated = fetch();
+
+        // Assert
+        assertEquals(1.08, aggregated.getRates().get("USD"));
+        assertEquals("beta", aggregated.getSources().get("USD"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.dto.RateRollupDto;
+import com.dev.currencyexchange.entity.CurrencyRateRollup;
+import com.dev.currencyexchange.model.RollupGranularity;
+import com.dev.currencyexchange.repository.CurrencyRateRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateRollupServiceImplTest {
+
+    @Mock
+    private CurrencyRateRollupRepository currencyRateRollupRepository;
+
+    @InjectMocks
+    private RateRollupServiceImpl rateRollupService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(rateRollupService, "maxPoints", 100);
+    }
+
+    @Test
+    @DisplayName("Rollup buckets are returned with their mean rate")
+    void testGetRollups_whenRangeGiven_returnsBuckets() {
+        // Arrange
+        Instant from = Instant.parse("2025-03-01T00:00:00Z");
+        Instant to = Instant.parse("2025-03-03T00:00:00Z");
+        CurrencyRateRollup rollup = CurrencyRateRollup.builder()
+                .currencyCode("USD").granularity(RollupGranularity.DAY).bucketStart(from).baseCurrency("EUR")
+                .open(1.08).high(1.10).low(1.07).close(1.09).rateSum(4.34).sampleCount(4)
+                .openAt(from).closeAt(from.plusSeconds(3 * 3600))
+                .build();
+        when(currencyRateRollupRepository.findByCurrencyCodeAndGranularityAndBucketStartBetweenOrderByBucketStartAsc(
+                eq("USD"), eq(RollupGranularity.DAY), eq(from), eq(to), any(Limit.class)))
+                .thenReturn(List.of(rollup));
+
+        // Act
+        RateRollupDto rollups = rateRollupService.getRollups("USD", RollupGranularity.DAY, from, to);
+
+        // Assert
+        assertEquals(1, rollups.getBuckets().size());
+        assertEquals(1.10, rollups.getBuckets().get(0).getHigh());
+        assertEquals(1.085, rollups.getBuckets().get(0).getMean(), 1e-9);
+        assertEquals(4, rollups.getBuckets().get(0).getSamples());
+    }
+
+    @Test
+    @DisplayName("A range starting mid-week includes the week it starts in")
+    void testGetRollups_whenWeekRangeStartsMidWeek_alignsToMonday() {
+        // Arrange
+        Instant from = Instant.parse("2025-03-06T15:30:00Z");
+        Instant to = Instant.parse("2025-04-01T00:00:00Z");
+
+        // Act
+        rateRollupService.getRollups("USD", RollupGranularity.WEEK, from, to);
+
+        // Assert
+        verify(currencyRateRollupRepository).findByCurrencyCodeAndGranularityAndBucketStartBetweenOrderByBucketStartAsc(
+                eq("USD"), eq(RollupGranularity.WEEK), eq(Instant.parse("2025-03-03T00:00:00Z")), eq(to),
+                any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("Without a start the default range of the granularity is used")
+    void testGetRollups_whenFromMissing_usesDefaultRange() {
+        // Arrange
+        Instant to = Instant.parse("2025-03-02T12:00:00Z");
+
+        // Act
+        RateRollupDto rollups = rateRollupService.getRollups("USD", RollupGranularity.HOUR, null, to);
+
+        // Assert
+        assertEquals(Instant.parse("2025-02-23T12:00:00Z"), rollups.getFrom());
+    }
+
+    @Test
+    @DisplayName("A start after the end is rejected")
+    void testGetRollups_whenFromAfterTo_throwsException() {
+        // Arrange
+        Instant from = Instant.parse("2025-03-02T00:00:00Z");
+        Instant to = Instant.parse("2025-03-01T00:00:00Z");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> rateRollupService.getRollups("USD", RollupGranularity.DAY, from, to));
+        verifyNoInteractions(currencyRateRollupRepository);
+    }
+}
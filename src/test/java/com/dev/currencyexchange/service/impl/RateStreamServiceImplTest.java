@@ -0,0 +1,149 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.event.RatesSnapshotPublishedEvent;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.service.CurrencyRatesService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RateStreamServiceImplTest {
+
+    private final CurrencyRatesService currencyRatesService = mock(CurrencyRatesService.class);
+
+    private RateStreamServiceImpl rateStreamService;
+
+    @BeforeEach
+    void setUp() {
+        rateStreamService = new RateStreamServiceImpl(currencyRatesService, new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(rateStreamService, "maxSubscribers", 1);
+        ReflectionTestUtils.setField(rateStreamService, "timeoutMillis", 1000L);
+        ReflectionTestUtils.setField(rateStreamService, "fanoutThreads", 1);
+        rateStreamService.start();
+        when(currencyRatesService.getSnapshot()).thenReturn(RatesSnapshot.empty("EUR"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        rateStreamService.stop();
+    }
+
+    @Test
+    @DisplayName("Subscriber is registered")
+    void testSubscribe_whenBelowLimit_registersSubscriber() {
+        // Act
+        rateStreamService.subscribe(Set.of("USD"));
+
+        // Assert
+        assertEquals(1, rateStreamService.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("Subscriber over the limit is rejected")
+    void testSubscribe_whenLimitReached_throwsException() {
+        // Arrange
+        rateStreamService.subscribe(null);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> rateStreamService.subscribe(null));
+        assertEquals(1, rateStreamService.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("Concurrent subscribes never exceed the subscriber limit")
+    void testSubscribe_whenConcurrent_staysWithinLimit() throws InterruptedException {
+        // Arrange
+        ReflectionTestUtils.setField(rateStreamService, "maxSubscribers", 5);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < 10; j++) {
+                        rateStreamService.subscribe(null);
+                        accepted.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (IllegalStateException e) {
+                    // Limit reached.
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(5, accepted.get());
+        assertEquals(5, rateStreamService.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("An update arriving during a pending heartbeat is sent, a second pending update closes the subscriber")
+    void testOnSnapshotPublished_whenHeartbeatPending_keepsSubscriber() throws InterruptedException {
+        // Arrange
+        rateStreamService.subscribe(null);
+        ExecutorService fanoutExecutor = (ExecutorService) ReflectionTestUtils.getField(rateStreamService,
+                "fanoutExecutor");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        fanoutExecutor.execute(() -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(blocked.await(1, TimeUnit.SECONDS));
+        RatesSnapshot first = new RatesSnapshot(1L, "EUR", Instant.now(), Map.of("USD", 1.08));
+        RatesSnapshot second = new RatesSnapshot(2L, "EUR", Instant.now(), Map.of("USD", 1.09));
+        RatesSnapshot third = new RatesSnapshot(3L, "EUR", Instant.now(), Map.of("USD", 1.10));
+
+        // Act
+        rateStreamService.sendHeartbeat();
+        rateStreamService.onSnapshotPublished(new RatesSnapshotPublishedEvent(second, first));
+        int subscribersAfterUpdate = rateStreamService.getSubscriberCount();
+        rateStreamService.onSnapshotPublished(new RatesSnapshotPublishedEvent(third, second));
+        release.countDown();
+
+        // Assert
+        assertEquals(1, subscribersAfterUpdate);
+        assertEquals(0, rateStreamService.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("Only changed and new rates are reported between snapshots")
+    void testChangedRates_whenSomeRatesChanged_returnsOnlyChanges() {
+        // Arrange
+        RatesSnapshot previous = new RatesSnapshot(1L, "EUR", Instant.now(), Map.of("USD", 1.1, "GBP", 0.85));
+        RatesSnapshot current = new RatesSnapshot(2L, "EUR", Instant.now(), Map.of("USD", 1.1, "GBP", 0.86, "JPY", 160.0));
+
+        // Act
+        Map<String, Double> changed = RateStreamServiceImpl.changedRates(previous, current);
+
+        // Assert
+        assertEquals(Map.of("GBP", 0.86, "JPY", 160.0), changed);
+    }
+}
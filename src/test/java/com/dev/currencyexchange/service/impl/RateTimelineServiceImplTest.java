@@ -0,0 +1,106 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.dto.HistoricalRateDto;
+import com.dev.currencyexchange.event.RatesSnapshotPublishedEvent;
+import com.dev.currencyexchange.model.RateTimeline;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.repository.ExchangeRateLogRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateTimelineServiceImplTest {
+    private static final Instant START = Instant.parse("2025-03-01T00:00:00Z");
+
+    @Mock
+    private ExchangeRateLogRepository exchangeRateLogRepository;
+
+    @InjectMocks
+    private RateTimelineServiceImpl rateTimelineService;
+
+    private RatesSnapshot current = RatesSnapshot.empty("EUR");
+
+    private void publish(Instant fetchedAt, Map<String, Double> rates) {
+        RatesSnapshot previous = current;
+        current = new RatesSnapshot(previous.getVersion() + 1, "EUR", fetchedAt, rates);
+        rateTimelineService.onSnapshotPublished(new RatesSnapshotPublishedEvent(current, previous));
+    }
+
+    @Test
+    @DisplayName("The timeline is loaded once and later lookups are answered from memory")
+    void testGetRateAt_whenLookedUpTwice_loadsHistoryOnce() {
+        // Arrange
+        publish(START.plusSeconds(7200), Map.of("USD", 1.10));
+        when(exchangeRateLogRepository.findTimeline("USD", "EUR")).thenReturn(RateTimeline.builder()
+                .add(START, 1.08)
+                .add(START.plusSeconds(3600), 1.09)
+                .build());
+
+        // Act
+        HistoricalRateDto first = rateTimelineService.getRateAt("USD", null, START.plusSeconds(1800));
+        HistoricalRateDto second = rateTimelineService.getRateAt("USD", null, START.plusSeconds(9000));
+
+        // Assert
+        assertEquals(1.08, first.getExchangeRate());
+        assertEquals(START, first.getEffectiveAt());
+        assertEquals("EUR", first.getBaseCurrency());
+        assertEquals(1.10, second.getExchangeRate());
+        verify(exchangeRateLogRepository, times(1)).findTimeline("USD", "EUR");
+    }
+
+    @Test
+    @DisplayName("Indexed timelines are extended by every refresh")
+    void testOnSnapshotPublished_whenTimelineIndexed_appendsRate() {
+        // Arrange
+        publish(START, Map.of("USD", 1.08));
+        when(exchangeRateLogRepository.findTimeline("USD", "EUR")).thenReturn(RateTimeline.empty());
+        rateTimelineService.getRateAt("USD", null, START);
+
+        // Act
+        publish(START.plusSeconds(3600), Map.of("USD", 1.12));
+
+        // Assert
+        assertEquals(1.08, rateTimelineService.getRateAt("USD", null, START.plusSeconds(3599)).getExchangeRate());
+        assertEquals(1.12, rateTimelineService.getRateAt("USD", null, START.plusSeconds(3600)).getExchangeRate());
+        verify(exchangeRateLogRepository, times(1)).findTimeline("USD", "EUR");
+    }
+
+    @Test
+    @DisplayName("Rates against another base are derived from both timelines at the same instant")
+    void testGetRateAt_whenBaseGiven_triangulates() {
+        // Arrange
+        publish(START, Map.of("USD", 1.25, "JPY", 150.0));
+        when(exchangeRateLogRepository.findTimeline(anyString(), eq("EUR"))).thenReturn(RateTimeline.empty());
+        rateTimelineService.getRateAt("JPY", "USD", START);
+
+        // Act
+        HistoricalRateDto rate = rateTimelineService.getRateAt("JPY", "USD", START.plusSeconds(60));
+
+        // Assert
+        assertEquals(120.0, rate.getExchangeRate(), 1e-9);
+        assertEquals("USD", rate.getBaseCurrency());
+    }
+
+    @Test
+    @DisplayName("Unknown currencies and instants before the first rate are not found")
+    void testGetRateAt_whenNoRateKnown_throwsException() {
+        // Arrange
+        publish(START, Map.of("USD", 1.08));
+        when(exchangeRateLogRepository.findTimeline("USD", "EUR")).thenReturn(RateTimeline.empty());
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> rateTimelineService.getRateAt("ABC", null, START));
+        assertThrows(RuntimeException.class, () -> rateTimelineService.getRateAt("USD", null, START.minusSeconds(1)));
+        verify(exchangeRateLogRepository, never()).findTimeline(eq("ABC"), anyString());
+    }
+}
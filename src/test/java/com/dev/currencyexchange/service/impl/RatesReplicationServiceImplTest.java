@@ -0,0 +1,134 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.event.RatesSnapshotPublishedEvent;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.repository.RatesClusterRepository;
+import com.dev.currencyexchange.service.CurrencyCatalogService;
+import com.dev.currencyexchange.service.CurrencyRatesService;
+import com.dev.currencyexchange.service.FetchLeaseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatesReplicationServiceImplTest {
+
+    @Mock
+    private CurrencyRatesService currencyRatesService;
+
+    @Mock
+    private CurrencyCatalogService currencyCatalogService;
+
+    @Mock
+    private FetchLeaseService fetchLeaseService;
+
+    @Mock
+    private RatesClusterRepository ratesClusterRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private RatesReplicationServiceImpl replicationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(replicationService, "enabled", true);
+        ReflectionTestUtils.setField(replicationService, "baseCurrency", "EUR");
+        ReflectionTestUtils.setField(replicationService, "refreshInterval", Duration.ofHours(1));
+        replicationService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicationService.stop();
+    }
+
+    @Test
+    @DisplayName("A follower applies the newest generation stored by the leader and checks the catalog version")
+    void testPoll_whenFollower_appliesNewerGeneration() {
+        // Arrange
+        Instant fetchedAt = Instant.now();
+        when(fetchLeaseService.isLeader()).thenReturn(false);
+        when(ratesClusterRepository.findGenerationNewerThan("EUR", 0L)).thenReturn(Optional.of(
+                new RatesClusterRepository.RatesGeneration(42L, fetchedAt,
+                        "{\"rates\":{\"USD\":1.08},\"sources\":{\"USD\":\"primary\"}}", "pod-a")));
+        when(ratesClusterRepository.findGenerationNewerThan("EUR", 42L)).thenReturn(Optional.empty());
+
+        // Act
+        replicationService.poll();
+        replicationService.poll();
+
+        // Assert
+        verify(currencyRatesService, times(1)).applyReplicatedSnapshot(42L, Map.of("USD", 1.08),
+                Map.of("USD", "primary"), fetchedAt);
+        assertEquals(42L, replicationService.getAppliedGeneration());
+        verify(currencyRatesService, never()).fetchExchangeRates();
+        verify(currencyCatalogService, times(2)).reloadIfChanged();
+    }
+
+    @Test
+    @DisplayName("A replica taking over the lease with overdue rates fetches at once")
+    void testPoll_whenLeaseTakenOverWithOverdueRates_fetchesImmediately() {
+        // Arrange
+        when(fetchLeaseService.isLeader()).thenReturn(true);
+        when(ratesClusterRepository.findGenerationNewerThan("EUR", 0L)).thenReturn(Optional.empty());
+        when(currencyRatesService.getSnapshot()).thenReturn(new RatesSnapshot(3L, "EUR",
+                Instant.now().minus(Duration.ofHours(2)), Map.of("USD", 1.08)));
+
+        // Act
+        replicationService.poll();
+        replicationService.poll();
+
+        // Assert
+        verify(currencyRatesService, times(1)).fetchExchangeRates();
+        verify(ratesClusterRepository, times(1)).findGenerationNewerThan(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Fetched snapshots are stored as the cluster generation, replicated ones are not")
+    void testOnSnapshotPublished_whenFetchedLocally_storesGeneration() {
+        // Arrange
+        RatesSnapshot previous = RatesSnapshot.empty("EUR");
+        RatesSnapshot fetched = new RatesSnapshot(7L, "EUR", Instant.now(), Map.of("USD", 1.08));
+        when(fetchLeaseService.getNodeId()).thenReturn("pod-a");
+        when(ratesClusterRepository.saveGeneration(eq(FetchLeaseServiceImpl.LEASE_NAME), eq("pod-a"), eq("EUR"),
+                eq(7L), eq(fetched.getFetchedAt()), anyString())).thenReturn(OptionalLong.of(7L));
+
+        // Act
+        replicationService.onSnapshotPublished(new RatesSnapshotPublishedEvent(fetched, previous));
+        replicationService.onSnapshotPublished(new RatesSnapshotPublishedEvent(fetched, previous, true));
+
+        // Assert
+        verify(ratesClusterRepository, timeout(2000).times(1)).saveGeneration(any(), any(), any(), anyLong(), any(),
+                any());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (replicationService.getAppliedGeneration() != 7L && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(7L, replicationService.getAppliedGeneration());
+        verify(ratesClusterRepository, times(1)).saveGeneration(any(), any(), any(), anyLong(), any(), any());
+    }
+}
@@ -0,0 +1,126 @@
+package com.dev.currencyexchange.service.impl;
+
+import com.dev.currencyexchange.entity.CurrencyRateLog;
+import com.dev.currencyexchange.event.RatesSnapshotPublishedEvent;
+import com.dev.currencyexchange.model.RatesSnapshot;
+import com.dev.currencyexchange.repository.ExchangeRateLogRepository;
+import com.dev.currencyexchange.service.CurrencyRatesService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatesWarmStartServiceImplTest {
+    @Mock
+    private CurrencyRatesService currencyRatesService;
+
+    @Mock
+    private ExchangeRateLogRepository exchangeRateLogRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private RatesWarmStartServiceImpl warmStartService;
+
+    @TempDir
+    Path tempDir;
+
+    private Path snapshotFile;
+
+    @BeforeEach
+    void setUp() {
+        snapshotFile = tempDir.resolve("rates-snapshot.json");
+        ReflectionTestUtils.setField(warmStartService, "baseCurrency", "EUR");
+        ReflectionTestUtils.setField(warmStartService, "lookback", Duration.ofDays(30));
+        ReflectionTestUtils.setField(warmStartService, "snapshotFile", snapshotFile.toString());
+    }
+
+    @Test
+    @DisplayName("Warm start restores the latest persisted rate of every currency")
+    void testWarmStart_whenHistoryExists_restoresLatestRates() {
+        // Arrange
+        Instant older = Instant.now().minus(2, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS);
+        Instant newer = older.plus(1, ChronoUnit.HOURS);
+        when(exchangeRateLogRepository.findLatestRates(eq("EUR"), any(Instant.class))).thenReturn(List.of(
+                new CurrencyRateLog("USD", newer, "EUR", 1.08, "alpha", false),
+                new CurrencyRateLog("GBP", older, "EUR", 0.85, null, true)));
+        RatesSnapshot restored = new RatesSnapshot(1L, "EUR", newer, Map.of("USD", 1.08, "GBP", 0.85)).asRestored();
+        when(currencyRatesService.restoreSnapshot(any(), any(), any())).thenReturn(restored);
+
+        // Act
+        RatesSnapshot result = warmStartService.warmStart();
+
+        // Assert
+        assertSame(restored, result);
+        verify(currencyRatesService).restoreSnapshot(Map.of("USD", 1.08, "GBP", 0.85), Map.of("USD", "alpha"), newer);
+    }
+
+    @Test
+    @DisplayName("Warm start falls back to the snapshot file when the database is unavailable")
+    void testWarmStart_whenHistoryUnavailable_restoresFromFile() {
+        // Arrange
+        Instant fetchedAt = Instant.now().minus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS);
+        warmStartService.onSnapshotPublished(new RatesSnapshotPublishedEvent(
+                new RatesSnapshot(4L, "EUR", fetchedAt, Map.of("USD", 1.1), Map.of("USD", "beta")),
+                RatesSnapshot.empty("EUR")));
+        when(exchangeRateLogRepository.findLatestRates(eq("EUR"), any(Instant.class)))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        // Act
+        warmStartService.warmStart();
+
+        // Assert
+        assertTrue(Files.exists(snapshotFile));
+        verify(currencyRatesService).restoreSnapshot(Map.of("USD", 1.1), Map.of("USD", "beta"), fetchedAt);
+    }
+
+    @Test
+    @DisplayName("Restored snapshots are not written back to the snapshot file")
+    void testOnSnapshotPublished_whenSnapshotRestored_doesNotWriteFile() {
+        // Arrange
+        RatesSnapshot restored = new RatesSnapshot(1L, "EUR", Instant.now(), Map.of("USD", 1.1)).asRestored();
+
+        // Act
+        warmStartService.onSnapshotPublished(new RatesSnapshotPublishedEvent(restored, RatesSnapshot.empty("EUR")));
+
+        // Assert
+        assertFalse(Files.exists(snapshotFile));
+    }
+
+    @Test
+    @DisplayName("Warm start without any persisted rates restores nothing")
+    void testWarmStart_whenNothingPersisted_returnsNull() {
+        // Arrange
+        when(exchangeRateLogRepository.findLatestRates(eq("EUR"), any(Instant.class))).thenReturn(List.of());
+
+        // Act
+        RatesSnapshot result = warmStartService.warmStart();
+
+        // Assert
+        assertNull(result);
+        verify(currencyRatesService, never()).restoreSnapshot(any(), any(), any());
+    }
+}
@@ -0,0 +1,87 @@
+package com.dev.currencyexchange.web;
+
+import com.dev.currencyexchange.model.RatesSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpCachePolicyTest {
+    private final HttpCachePolicy httpCachePolicy = new HttpCachePolicy(Duration.ofHours(1));
+
+    @Test
+    @DisplayName("Rates stay fresh until the next scheduled refresh")
+    void testForRates_whenFetchedRecently_maxAgeEndsAtNextRefresh() {
+        // Arrange
+        RatesSnapshot snapshot = new RatesSnapshot(1L, "EUR", Instant.now().minusSeconds(600), Map.of("USD", 1.1));
+
+        // Act
+        HttpCachePolicy.Validators validators = httpCachePolicy.forRates(snapshot);
+
+        // Assert
+        long maxAge = Long.parseLong(validators.cacheControl().getHeaderValue().replaceAll("\\D", ""));
+        assertTrue(maxAge > 2990 && maxAge <= 3000, "max-age was " + maxAge);
+        assertEquals(snapshot.getEntityTag(), validators.entityTag());
+    }
+
+    @Test
+    @DisplayName("Restored or overdue rates must be revalidated on every request")
+    void testForRates_whenRefreshOverdue_maxAgeIsZero() {
+        // Arrange
+        RatesSnapshot snapshot = new RatesSnapshot(1L, "EUR", Instant.now().minusSeconds(7200), Map.of("USD", 1.1))
+                .asRestored();
+
+        // Act
+        HttpCachePolicy.Validators validators = httpCachePolicy.forRates(snapshot);
+
+        // Assert
+        assertEquals("max-age=0, public", validators.cacheControl().getHeaderValue());
+        assertTrue(validators.entityTag().endsWith("-restored\""));
+    }
+
+    @Test
+    @DisplayName("No validators exist before the first fetch")
+    void testForRates_whenNothingFetched_returnsNull() {
+        assertNull(httpCachePolicy.forRates(RatesSnapshot.empty("EUR")));
+    }
+
+    @Test
+    @DisplayName("Entity tags take precedence over the modification date")
+    void testIsNotModified_whenETagAndDateGiven_usesETag() {
+        // Arrange
+        RatesSnapshot snapshot = new RatesSnapshot(1L, "EUR", Instant.now(), Map.of("USD", 1.1));
+        HttpCachePolicy.Validators validators = httpCachePolicy.forRates(snapshot);
+        MockHttpServletRequest stale = new MockHttpServletRequest("GET", "/currencies/USD");
+        stale.addHeader(HttpHeaders.IF_NONE_MATCH, "\"EUR-1\"");
+        stale.addHeader(HttpHeaders.IF_MODIFIED_SINCE, Instant.now().plusSeconds(60).toEpochMilli());
+        MockHttpServletRequest weak = new MockHttpServletRequest("GET", "/currencies/USD");
+        weak.addHeader(HttpHeaders.IF_NONE_MATCH, "\"EUR-1\", W/" + snapshot.getEntityTag());
+
+        // Act & Assert
+        assertFalse(validators.isNotModified(stale));
+        assertTrue(validators.isNotModified(weak));
+    }
+
+    @Test
+    @DisplayName("A modification date at or after the fetch time means not modified")
+    void testIsNotModified_whenIfModifiedSinceGiven_comparesSeconds() {
+        // Arrange
+        Instant fetchedAt = Instant.parse("2024-05-01T10:00:00.750Z");
+        HttpCachePolicy.Validators validators =
+                httpCachePolicy.forRates(new RatesSnapshot(1L, "EUR", fetchedAt, Map.of("USD", 1.1)));
+        MockHttpServletRequest sameSecond = new MockHttpServletRequest("GET", "/currencies/rates");
+        sameSecond.addHeader(HttpHeaders.IF_MODIFIED_SINCE, fetchedAt.getEpochSecond() * 1000);
+        MockHttpServletRequest earlier = new MockHttpServletRequest("GET", "/currencies/rates");
+        earlier.addHeader(HttpHeaders.IF_MODIFIED_SINCE, fetchedAt.minusSeconds(1).toEpochMilli());
+
+        // Act & Assert
+        assertTrue(validators.isNotModified(sameSecond));
+        assertFalse(validators.isNotModified(earlier));
+    }
+}